@@ -0,0 +1,154 @@
+// src/jmh/java/com/example/infinitevoid/DomainTickBenchmark.java
+package com.example.infinitevoid;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import net.minecraft.entity.effect.StatusEffect;
+import net.minecraft.entity.effect.StatusEffectInstance;
+import net.minecraft.registry.entry.RegistryEntry;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Box;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+// Per-tick cost of active domains: trapping, the stun pass over trapped mobs, the spawn sweep
+// and the void particle plan (now expanded by each observing client). Entities are stand-ins
+// found through StandInWorld's box and UUID queries; TrappedEntities, DomainIndex and
+// Domain.rejectsAt are the real code. The stun pass samples the stand-ins the way read() samples
+// live entities and runs the real plan() and apply(), but apply() has no live entities to write
+// to, so the effect and velocity writes themselves are not measured.
+@State(Scope.Benchmark)
+public class DomainTickBenchmark {
+    @Param({"1", "4", "16"})
+    public int domains;
+
+    @Param({"16", "25", "32"})
+    public int radius;
+
+    @Param({"16"})
+    public int trappedPerDomain;
+
+    private static final class Fixture {
+        final BlockPos center;
+        final int radius;
+        final DomainParticles particles;
+        final TrappedEntities trapped = new TrappedEntities();
+        // Trap order, as TrappedEntities numbers its entries
+        final List<UUID> ids = new ArrayList<>();
+        long tick = 0;
+        long stunTick = 0;
+
+        Fixture(BlockPos center, int radius, long seed) {
+            this.center = center;
+            this.radius = radius;
+            this.particles = new DomainParticles(center, center.getY(), radius, seed);
+        }
+
+        Box area() {
+            return new Box(center.getX() - radius, center.getY() - radius,
+                    center.getZ() - radius, center.getX() + radius, center.getY() + radius,
+                    center.getZ() + radius);
+        }
+    }
+
+    private static final UUID SPAWNED = new UUID(-1, -1);
+
+    private final StandInWorld world = new StandInWorld();
+    private final List<Fixture> fixtures = new ArrayList<>();
+    private final DomainIndex<Fixture> index = new DomainIndex<>();
+
+    @Setup
+    public void setup() {
+        Headless.bootstrap();
+        SplittableRandom random = new SplittableRandom(42);
+
+        for (int d = 0; d < domains; d++) {
+            Fixture fixture = new Fixture(new BlockPos(d * radius * 4, StandInWorld.SEA_LEVEL, 0),
+                    radius, random.nextLong());
+            BlockPos c = fixture.center;
+            for (int i = 0; i < trappedPerDomain; i++) {
+                StandInEntity entity = new StandInEntity(new UUID(d, i),
+                        c.getX() + random.nextDouble(-radius / 2.0, radius / 2.0), c.getY() + 1,
+                        c.getZ() + random.nextDouble(-radius / 2.0, radius / 2.0));
+                // Already stunned, as on every tick after the one it was trapped on
+                for (RegistryEntry<StatusEffect> effect : TrappedEntities.STUN_EFFECTS) {
+                    entity.addStatusEffect(new StatusEffectInstance(effect, 200, 0, false, false));
+                }
+                world.addEntity(entity);
+                fixture.trapped.add(entity.uuid, entity.x, entity.y, entity.z);
+                fixture.ids.add(entity.uuid);
+            }
+            fixtures.add(fixture);
+            index.add(fixture, fixture.center, fixture.radius);
+        }
+    }
+
+    @Benchmark
+    public int trapEntities() {
+        // The activation sweep: box query, then the sphere and already-trapped check
+        int trapped = 0;
+        for (Fixture fixture : fixtures) {
+            TrappedEntities fresh = new TrappedEntities();
+            for (StandInEntity e : world.getEntitiesByBox(fixture.area(), e -> true)) {
+                if (Domain.rejectsAt(fixture.center, fixture.radius, fresh, e.uuid,
+                        e.x, e.y, e.z)) {
+                    fresh.add(e.uuid, e.x, e.y, e.z);
+                }
+            }
+            trapped += fresh.size();
+        }
+        return trapped;
+    }
+
+    @Benchmark
+    public void maintainStunEffects() {
+        List<RegistryEntry<StatusEffect>> effects = TrappedEntities.STUN_EFFECTS;
+        for (Fixture fixture : fixtures) {
+            TrappedEntities trapped = fixture.trapped;
+            for (int i = 0; i < trapped.size(); i++) {
+                StandInEntity entity = world.getEntity(fixture.ids.get(i));
+                int missing = 0;
+                for (int k = 0; k < effects.size(); k++) {
+                    if (!entity.effects.containsKey(effects.get(k))) {
+                        missing |= 1 << k;
+                    }
+                }
+                trapped.sample(i, missing, entity.velocity);
+            }
+            trapped.plan(fixture.stunTick++);
+            trapped.apply();
+        }
+    }
+
+    @Benchmark
+    public int admitSpawns() {
+        // One candidate spawn per domain, just inside its sphere
+        int rejected = 0;
+        for (Fixture fixture : fixtures) {
+            BlockPos c = fixture.center;
+            double x = c.getX() + radius / 2.0, y = c.getY() + 2, z = c.getZ();
+            for (Fixture domain : index.at(x, y, z)) {
+                if (Domain.rejectsAt(domain.center, domain.radius, domain.trapped, SPAWNED,
+                        x, y, z)) {
+                    rejected++;
+                    break;
+                }
+            }
+        }
+        return rejected;
+    }
+
+    @Benchmark
+    public void playVoidSpaceEffects(Blackhole blackhole) {
+        for (Fixture fixture : fixtures) {
+            blackhole.consume(
+                    fixture.particles.plan(DomainParticles.Effect.VOID_SPACE, fixture.tick++));
+        }
+    }
+}
@@ -0,0 +1,47 @@
+// src/jmh/java/com/example/infinitevoid/GeometryBenchmark.java
+package com.example.infinitevoid;
+
+import net.minecraft.util.math.BlockPos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// Shell/disk/interior enumeration: building the offset tables for a radius, and turning them
+// into absolute positions for one domain
+@State(Scope.Benchmark)
+public class GeometryBenchmark {
+    @Param({"8", "16", "25", "32", "48", "64", "80"})
+    public int radius;
+
+    private DomainGeometry geometry;
+    private DomainPlanner planner;
+
+    @Setup
+    public void setup() {
+        geometry = DomainGeometry.forRadius(radius);
+        planner = new DomainPlanner(new BlockPos(0, 64, 0), geometry);
+    }
+
+    @Benchmark
+    public DomainGeometry buildTables() {
+        return new DomainGeometry(radius);
+    }
+
+    @Benchmark
+    public DomainPlanner.Positions planPositions() {
+        return planner.planPositions();
+    }
+
+    @Benchmark
+    public long walkShell() {
+        long sum = 0;
+        for (int i = 0; i < geometry.shellSize(); i++) {
+            int offset = geometry.shellOffset(i);
+            sum += BlockPos.asLong(DomainGeometry.unpackX(offset), DomainGeometry.unpackY(offset),
+                    DomainGeometry.unpackZ(offset));
+        }
+        return sum;
+    }
+}
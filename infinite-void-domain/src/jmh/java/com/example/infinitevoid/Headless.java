@@ -0,0 +1,21 @@
+// src/jmh/java/com/example/infinitevoid/Headless.java
+package com.example.infinitevoid;
+
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+
+// Loads the block, particle and status effect registries without starting a client or server
+final class Headless {
+    private static boolean bootstrapped = false;
+
+    private Headless() {
+    }
+
+    static synchronized void bootstrap() {
+        if (!bootstrapped) {
+            SharedConstants.createGameVersion();
+            Bootstrap.initialize();
+            bootstrapped = true;
+        }
+    }
+}
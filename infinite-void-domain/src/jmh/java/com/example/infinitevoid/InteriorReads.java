@@ -0,0 +1,21 @@
+// src/jmh/java/com/example/infinitevoid/InteriorReads.java
+package com.example.infinitevoid;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+// Reads made by the interior section walk, reported next to the timings as totals per
+// iteration: sections looked at and blocks read one at a time. The block-by-block walk this
+// replaced made one block read per interior block.
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.EVENTS)
+public class InteriorReads {
+    public long blockReads;
+    public long sectionReads;
+
+    void add(SectionReader reader, long blocksBefore, long sectionsBefore) {
+        blockReads += reader.blockReads() - blocksBefore;
+        sectionReads += reader.sectionReads() - sectionsBefore;
+    }
+}
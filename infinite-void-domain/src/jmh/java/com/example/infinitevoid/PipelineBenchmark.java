@@ -0,0 +1,97 @@
+// src/jmh/java/com/example/infinitevoid/PipelineBenchmark.java
+package com.example.infinitevoid;
+
+import java.util.ArrayList;
+import java.util.List;
+import com.example.infinitevoid.BlockEditScheduler.Phase;
+import net.minecraft.block.Blocks;
+import net.minecraft.util.math.BlockPos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+// Tick time of the read/compute/apply pipeline against domain count and worker threads. Each
+// stage does one tick of a domain in its busiest state: capture the next barrier wave, build
+// its edit batch and the matching restore batch (Domain.restoreEdit), then hand the results
+// over on apply.
+@State(Scope.Benchmark)
+public class PipelineBenchmark {
+    @Param({"1", "4", "8", "16"})
+    public int threads;
+
+    @Param({"1", "4", "8", "16"})
+    public int domains;
+
+    @Param({"25"})
+    public int radius;
+
+    private final class StandInDomain implements TickPipeline.Stage {
+        final BlockPos center;
+        final DomainPlanner planner;
+        final DomainPlanner.Positions positions;
+        final BlockSnapshot snapshot;
+        final BlockPos.Mutable mutable = new BlockPos.Mutable();
+        int start, end;
+        Domain.Edit build, restore;
+
+        StandInDomain(BlockPos center) {
+            this.center = center;
+            this.planner = new DomainPlanner(center, geometry);
+            this.positions = planner.positions();
+            this.snapshot = new BlockSnapshot(geometry.shellSize());
+        }
+
+        @Override
+        public void read() {
+            int quota = DomainTimeline.quota(geometry.shellSize(), DomainTimeline.BARRIER_TICKS);
+            start = end < geometry.shellSize() ? end : 0;
+            end = Math.min(start + quota, geometry.shellSize());
+            for (int i = start; i < end; i++) {
+                snapshot.capture(i, world.getBlockState(mutable.set(positions.shell[i])));
+            }
+        }
+
+        @Override
+        public void compute() {
+            build = new Domain.Edit(Phase.BARRIER, positions.shell(start, end),
+                    Blocks.OBSIDIAN.getDefaultState());
+            restore = Domain.restoreEdit(snapshot, positions.shell, start, end, null);
+        }
+
+        @Override
+        public void apply() {
+            applied += build.positions.length + restore.positions.length;
+        }
+    }
+
+    private DomainGeometry geometry;
+    private StandInWorld world;
+    private TickPipeline pipeline;
+    private final List<StandInDomain> stages = new ArrayList<>();
+    private long applied;
+
+    @Setup
+    public void setup() {
+        Headless.bootstrap();
+        geometry = DomainGeometry.forRadius(radius);
+        world = new StandInWorld();
+        pipeline = new TickPipeline(threads);
+        for (int d = 0; d < domains; d++) {
+            stages.add(new StandInDomain(new BlockPos(d * radius * 4, StandInWorld.SEA_LEVEL, 0)));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        pipeline.shutdown();
+    }
+
+    @Benchmark
+    public long tick() {
+        pipeline.run(stages);
+        return applied;
+    }
+}
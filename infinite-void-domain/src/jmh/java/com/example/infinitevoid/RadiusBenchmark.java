@@ -0,0 +1,86 @@
+// src/jmh/java/com/example/infinitevoid/RadiusBenchmark.java
+package com.example.infinitevoid;
+
+import com.example.infinitevoid.BlockEditScheduler.Phase;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.util.math.BlockPos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// How the busiest domain ticks scale with the radius, at the default config: one barrier wave
+// (capture plus edit batch), one step of the interior clear (the real section walk, up to the
+// edit budget of reads or captures), and the final restore batch of the interior, which only
+// walks what was captured. The domain sits on the surface, so about half its interior is air
+// and never captured. Timings come from DomainTimeline.forCast, which stretches a phase when
+// its per-tick quota would outrun the edit budget. The interior step also reports its section
+// and block reads (see InteriorReads).
+@State(Scope.Benchmark)
+public class RadiusBenchmark {
+    @Param({"25", "32", "48", "64", "80"})
+    public int radius;
+
+    private final BlockPos center = new BlockPos(0, StandInWorld.SEA_LEVEL, 0);
+    private final BlockPos.Mutable mutable = new BlockPos.Mutable();
+    private DomainGeometry geometry;
+    private DomainTimeline timeline;
+    private DomainPlanner.Positions positions;
+    private StandInWorld world;
+    private BlockSnapshot shell;
+    private BlockSnapshot interior;
+    private BlockSnapshot interiorStep;
+    private SectionReader reader;
+    private int barrierStart, interiorStart;
+
+    @Setup
+    public void setup() {
+        Headless.bootstrap();
+        geometry = DomainGeometry.forRadius(radius);
+        timeline = DomainTimeline.forCast(DomainConfig.get(), geometry);
+        positions = new DomainPlanner(center, geometry).positions();
+        world = new StandInWorld();
+        shell = new BlockSnapshot(geometry.shellSize());
+        interior = new BlockSnapshot(geometry.interiorSize());
+        interiorStep = new BlockSnapshot(geometry.interiorSize());
+        reader = new StandInSectionReader(world, center, radius);
+        for (int i = 0; i < geometry.interiorSize(); i++) {
+            BlockState original = world.getBlockState(mutable.set(positions.interior[i]));
+            if (!original.isAir()) {
+                interior.capture(i, original);
+            }
+        }
+    }
+
+    @Benchmark
+    public Domain.Edit barrierTick() {
+        int quota = DomainTimeline.quota(geometry.shellSize(), timeline.barrierTicks);
+        int start = barrierStart;
+        int end = Math.min(start + quota, geometry.shellSize());
+        for (int i = start; i < end; i++) {
+            shell.capture(i, world.getBlockState(mutable.set(positions.shell[i])));
+        }
+        barrierStart = end < geometry.shellSize() ? end : 0;
+        return new Domain.Edit(Phase.BARRIER, positions.shell(start, end),
+                Blocks.OBSIDIAN.getDefaultState());
+    }
+
+    @Benchmark
+    public int interiorCaptureTick(InteriorReads reads) {
+        long blocks = reader.blockReads(), sections = reader.sectionReads();
+        int stop = Domain.walkInterior(geometry, center, reader, interiorStart,
+                geometry.interiorSize(), DomainConfig.get().maxBlockEditsPerTick,
+                interiorStep::capture);
+        reads.add(reader, blocks, sections);
+        interiorStart = stop < geometry.interiorSize() ? stop : 0;
+        return stop;
+    }
+
+    @Benchmark
+    public Domain.Edit restoreInterior() {
+        return Domain.restoreEdit(interior, positions.interior, 0, geometry.interiorSize(),
+                null);
+    }
+}
@@ -0,0 +1,179 @@
+// src/jmh/java/com/example/infinitevoid/SectionWriteBenchmark.java
+package com.example.infinitevoid;
+
+import java.util.ArrayList;
+import java.util.List;
+import com.example.infinitevoid.BlockEditScheduler.Phase;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.chunk.PalettedContainer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+// Before/after of the section-grouped writes on a radius-25 cast: the barrier, platform and
+// interior edits, then their restore. Both paths run the same per-edit work as SectionWriter:
+// the current-state read, the no-op and onlyOver checks, the edit counters and the palette
+// write. `perBlock` also does what World.setBlockState adds: it finds the section of every
+// block and reads its six neighbors, the least the neighbor update pass reads before any block
+// logic runs. `perSection` goes through the real grouping in scheduler-sized slices and adds
+// its per-section metrics. Sections are real PalettedContainers filled from the stand-in
+// terrain. Heightmaps, light, packets and listeners need a running server; compare those in
+// game with the edits timer of /domain stats.
+@State(Scope.Benchmark)
+public class SectionWriteBenchmark {
+    private static final int[][] NEIGHBORS = {
+        {1, 0, 0}, {-1, 0, 0}, {0, 1, 0}, {0, -1, 0}, {0, 0, 1}, {0, 0, -1}
+    };
+
+    @Param({"25"})
+    public int radius;
+
+    private final Long2ObjectOpenHashMap<PalettedContainer<BlockState>> sections =
+            new Long2ObjectOpenHashMap<>();
+    private final SectionWriter.Target target =
+            new SectionWriter.Target(new EditStats().counter(Phase.BARRIER), null, false, null);
+    private final DomainMetrics metrics = new DomainMetrics();
+    private long[] positions;
+    private BlockState[] build;
+    private BlockState[] restore;
+    private SectionWriter writer;
+    private int written;
+
+    // Writes the grouped edits of one section into its stand-in container
+    private final class StandInWriter extends SectionWriter {
+        StandInWriter() {
+            super(null);
+        }
+
+        @Override
+        void writeSection(long key, SectionEdits edits) {
+            PalettedContainer<BlockState> section = sections.get(key);
+            int before = written;
+            for (int i = 0; i < edits.count; i++) {
+                short local = edits.local[i];
+                write(section, local >> 8 & 15, local & 15, local >> 4 & 15, edits.states[i],
+                        edits.targets[i]);
+            }
+            metrics.add(DomainMetrics.Counter.BLOCKS_WRITTEN, written - before);
+            metrics.add(DomainMetrics.Counter.BLOCKS_SKIPPED, edits.count - (written - before));
+        }
+    }
+
+    @Setup
+    public void setup() {
+        Headless.bootstrap();
+        DomainGeometry geometry = DomainGeometry.forRadius(radius);
+        BlockPos center = new BlockPos(0, StandInWorld.SEA_LEVEL, 0);
+        DomainPlanner.Positions planned = new DomainPlanner(center, geometry).positions();
+        StandInWorld world = new StandInWorld();
+        BlockPos.Mutable mutable = new BlockPos.Mutable();
+
+        // Every section the domain or a neighbor of its blocks reaches
+        int reach = radius + 2;
+        for (int sx = (center.getX() - reach) >> 4; sx <= (center.getX() + reach) >> 4; sx++) {
+            for (int sy = (center.getY() - reach) >> 4; sy <= (center.getY() + reach) >> 4;
+                    sy++) {
+                for (int sz = (center.getZ() - reach) >> 4;
+                        sz <= (center.getZ() + reach) >> 4; sz++) {
+                    sections.put(ChunkSectionPos.asLong(sx, sy, sz), world.section(sx, sy, sz));
+                }
+            }
+        }
+
+        // The cast: obsidian shell, concrete platform, and air over every solid interior block
+        LongArrayList at = new LongArrayList();
+        List<BlockState> states = new ArrayList<>();
+        for (long pos : planned.shell) {
+            at.add(pos);
+            states.add(Blocks.OBSIDIAN.getDefaultState());
+        }
+        for (long pos : planned.platform) {
+            at.add(pos);
+            states.add(Blocks.BLACK_CONCRETE.getDefaultState());
+        }
+        for (long pos : planned.interior) {
+            if (!world.getBlockState(mutable.set(pos)).isAir()) {
+                at.add(pos);
+                states.add(Blocks.AIR.getDefaultState());
+            }
+        }
+        positions = at.toLongArray();
+        build = states.toArray(new BlockState[0]);
+        restore = new BlockState[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            restore[i] = world.getBlockState(mutable.set(positions[i]));
+        }
+        writer = new StandInWriter();
+    }
+
+    @Benchmark
+    public int perBlock(Blackhole blackhole) {
+        written = 0;
+        for (int i = 0; i < positions.length; i++) {
+            writeBlock(positions[i], build[i], blackhole);
+        }
+        for (int i = 0; i < positions.length; i++) {
+            writeBlock(positions[i], restore[i], blackhole);
+        }
+        return written;
+    }
+
+    @Benchmark
+    public int perSection() {
+        written = 0;
+        writeGrouped(build);
+        writeGrouped(restore);
+        return written;
+    }
+
+    private void writeGrouped(BlockState[] states) {
+        for (int start = 0; start < positions.length; start += BlockEditScheduler.SLICE_SIZE) {
+            int end = Math.min(start + BlockEditScheduler.SLICE_SIZE, positions.length);
+            for (int i = start; i < end; i++) {
+                writer.add(positions[i], states[i], target);
+            }
+            writer.flush();
+        }
+    }
+
+    private void writeBlock(long pos, BlockState state, Blackhole blackhole) {
+        int x = BlockPos.unpackLongX(pos);
+        int y = BlockPos.unpackLongY(pos);
+        int z = BlockPos.unpackLongZ(pos);
+        if (!write(section(x, y, z), x & 15, y & 15, z & 15, state, target)) {
+            return;
+        }
+
+        for (int[] d : NEIGHBORS) {
+            int nx = x + d[0], ny = y + d[1], nz = z + d[2];
+            blackhole.consume(section(nx, ny, nz).get(nx & 15, ny & 15, nz & 15));
+        }
+    }
+
+    // The per-edit part of SectionWriter.writeSection; returns whether the block changed
+    private boolean write(PalettedContainer<BlockState> section, int x, int y, int z,
+            BlockState state, SectionWriter.Target target) {
+        BlockState current = section.get(x, y, z);
+        if (current == state || (current.isAir() && state.isAir())
+                || (target.onlyOver != null && current.getBlock() != target.onlyOver)) {
+            target.counter.skipped++;
+            return false;
+        }
+        target.counter.applied++;
+        section.swapUnsafe(x, y, z, state);
+        written++;
+        return true;
+    }
+
+    private PalettedContainer<BlockState> section(int x, int y, int z) {
+        return sections.get(ChunkSectionPos.asLong(x >> 4, y >> 4, z >> 4));
+    }
+}
@@ -0,0 +1,82 @@
+// src/jmh/java/com/example/infinitevoid/SnapshotBenchmark.java
+package com.example.infinitevoid;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.util.math.BlockPos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// Snapshot capture during construction and writing originals back during teardown, against
+// terrain that crosses the surface (the domain sits on the grass layer). The interior is
+// captured with the real section walk and reports its section and block reads (see
+// InteriorReads).
+@State(Scope.Benchmark)
+public class SnapshotBenchmark {
+    @Param({"8", "16", "25", "32", "48", "64", "80"})
+    public int radius;
+
+    private DomainGeometry geometry;
+    private StandInWorld world;
+    private final BlockPos center = new BlockPos(0, StandInWorld.SEA_LEVEL, 0);
+    private final BlockPos.Mutable mutable = new BlockPos.Mutable();
+    private BlockSnapshot capturedShell;
+    private SectionReader reader;
+
+    @Setup
+    public void setup() {
+        Headless.bootstrap();
+        geometry = DomainGeometry.forRadius(radius);
+        world = new StandInWorld();
+        capturedShell = captureShell();
+        reader = new StandInSectionReader(world, center, radius);
+    }
+
+    private BlockPos at(int offset) {
+        return mutable.set(center.getX() + DomainGeometry.unpackX(offset),
+                center.getY() + DomainGeometry.unpackY(offset),
+                center.getZ() + DomainGeometry.unpackZ(offset));
+    }
+
+    @Benchmark
+    public BlockSnapshot captureShell() {
+        BlockSnapshot snapshot = new BlockSnapshot(geometry.shellSize());
+        for (int i = 0; i < geometry.shellSize(); i++) {
+            snapshot.capture(i, world.getBlockState(at(geometry.shellOffset(i))));
+        }
+        return snapshot;
+    }
+
+    @Benchmark
+    public BlockSnapshot captureDisk() {
+        BlockSnapshot snapshot = new BlockSnapshot(geometry.diskSize());
+        for (int i = 0; i < geometry.diskSize(); i++) {
+            if (!geometry.isDiskInShell(i)) {
+                snapshot.capture(i, world.getBlockState(at(geometry.diskOffset(i))));
+            }
+        }
+        return snapshot;
+    }
+
+    @Benchmark
+    public BlockSnapshot captureInterior(InteriorReads reads) {
+        BlockSnapshot snapshot = new BlockSnapshot(geometry.interiorSize());
+        long blocks = reader.blockReads(), sections = reader.sectionReads();
+        Domain.walkInterior(geometry, center, reader, 0, geometry.interiorSize(),
+                Integer.MAX_VALUE, snapshot::capture);
+        reads.add(reader, blocks, sections);
+        return snapshot;
+    }
+
+    @Benchmark
+    public void restoreShell() {
+        for (int i = geometry.shellSize() - 1; i >= 0; i--) {
+            BlockState original = capturedShell.get(i);
+            if (original != null) {
+                world.setBlockState(at(geometry.shellOffset(i)), original);
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+// src/jmh/java/com/example/infinitevoid/StandInEntity.java
+package com.example.infinitevoid;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import net.minecraft.entity.effect.StatusEffect;
+import net.minecraft.entity.effect.StatusEffectInstance;
+import net.minecraft.registry.entry.RegistryEntry;
+import net.minecraft.util.math.Vec3d;
+
+// A mob reduced to what the domain touches every tick: position, velocity, status effects and
+// the AI-disabled flag
+final class StandInEntity {
+    final UUID uuid;
+    double x, y, z;
+    Vec3d velocity = new Vec3d(0, 0, 0);
+    boolean velocityModified;
+    boolean aiDisabled;
+    final Map<RegistryEntry<StatusEffect>, StatusEffectInstance> effects = new HashMap<>();
+
+    StandInEntity(UUID uuid, double x, double y, double z) {
+        this.uuid = uuid;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+    }
+
+    void addStatusEffect(StatusEffectInstance effect) {
+        StatusEffectInstance current = effects.get(effect.getEffectType());
+        if (current == null) {
+            effects.put(effect.getEffectType(), effect);
+        } else {
+            current.upgrade(effect);
+        }
+    }
+
+    void setVelocity(double x, double y, double z) {
+        velocity = new Vec3d(x, y, z);
+    }
+}
@@ -0,0 +1,36 @@
+// src/jmh/java/com/example/infinitevoid/StandInSectionReader.java
+package com.example.infinitevoid;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.block.BlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.chunk.PalettedContainer;
+
+// A SectionReader over stand-in sections, built once for every section a domain's cube
+// touches. All-air sections are left out, the way the game sees an empty ChunkSection.
+final class StandInSectionReader extends SectionReader {
+    private final Long2ObjectOpenHashMap<PalettedContainer<BlockState>> sections =
+            new Long2ObjectOpenHashMap<>();
+
+    StandInSectionReader(StandInWorld world, BlockPos center, int radius) {
+        super(null);
+        for (int sx = (center.getX() - radius) >> 4; sx <= (center.getX() + radius) >> 4; sx++) {
+            for (int sy = (center.getY() - radius) >> 4; sy <= (center.getY() + radius) >> 4;
+                    sy++) {
+                for (int sz = (center.getZ() - radius) >> 4;
+                        sz <= (center.getZ() + radius) >> 4; sz++) {
+                    PalettedContainer<BlockState> section = world.section(sx, sy, sz);
+                    if (section.hasAny(state -> !state.isAir())) {
+                        sections.put(ChunkSectionPos.asLong(sx, sy, sz), section);
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    PalettedContainer<BlockState> sectionStates(int x, int y, int z) {
+        return sections.get(ChunkSectionPos.asLong(x >> 4, y >> 4, z >> 4));
+    }
+}
@@ -0,0 +1,118 @@
+// src/jmh/java/com/example/infinitevoid/StandInWorld.java
+package com.example.infinitevoid;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Predicate;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.fluid.FluidState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Box;
+import net.minecraft.world.BlockView;
+import net.minecraft.world.chunk.PalettedContainer;
+
+// Just enough of a world for the benchmarks: block get/set over procedural terrain and
+// box/UUID entity queries. Edits are kept in a sparse map on top of the terrain.
+final class StandInWorld implements BlockView {
+    static final int SEA_LEVEL = 63;
+
+    private final Long2ObjectOpenHashMap<BlockState> edits = new Long2ObjectOpenHashMap<>();
+    private final List<StandInEntity> entities = new ArrayList<>();
+    private final Map<UUID, StandInEntity> entitiesById = new HashMap<>();
+
+    // Stone with scattered ores and gravel below sea level, a dirt and grass top, air above
+    private static BlockState terrain(int x, int y, int z) {
+        if (y > SEA_LEVEL) {
+            return Blocks.AIR.getDefaultState();
+        }
+        if (y == SEA_LEVEL) {
+            return Blocks.GRASS_BLOCK.getDefaultState();
+        }
+        if (y > SEA_LEVEL - 4) {
+            return Blocks.DIRT.getDefaultState();
+        }
+        int hash = (x * 73_856_093) ^ (y * 19_349_663) ^ (z * 83_492_791);
+        switch (Math.floorMod(hash, 64)) {
+            case 0:
+                return Blocks.COAL_ORE.getDefaultState();
+            case 1:
+                return Blocks.IRON_ORE.getDefaultState();
+            case 2:
+            case 3:
+                return Blocks.GRAVEL.getDefaultState();
+            case 4:
+                return Blocks.CAVE_AIR.getDefaultState();
+            default:
+                return y < 0 ? Blocks.DEEPSLATE.getDefaultState() : Blocks.STONE.getDefaultState();
+        }
+    }
+
+    @Override
+    public BlockState getBlockState(BlockPos pos) {
+        BlockState state = edits.get(pos.asLong());
+        return state != null ? state : terrain(pos.getX(), pos.getY(), pos.getZ());
+    }
+
+    public void setBlockState(BlockPos pos, BlockState state) {
+        edits.put(pos.asLong(), state);
+    }
+
+    // A real section container holding this world's blocks of one chunk section
+    public PalettedContainer<BlockState> section(int sx, int sy, int sz) {
+        PalettedContainer<BlockState> section = new PalettedContainer<>(Block.STATE_IDS,
+                Blocks.AIR.getDefaultState(), PalettedContainer.PaletteProvider.BLOCK_STATE);
+        BlockPos.Mutable mutable = new BlockPos.Mutable();
+        for (int i = 0; i < 4096; i++) {
+            int x = i >> 8, y = i & 15, z = i >> 4 & 15;
+            section.swapUnsafe(x, y, z,
+                    getBlockState(mutable.set((sx << 4) + x, (sy << 4) + y, (sz << 4) + z)));
+        }
+        return section;
+    }
+
+    @Override
+    public FluidState getFluidState(BlockPos pos) {
+        return getBlockState(pos).getFluidState();
+    }
+
+    @Override
+    public BlockEntity getBlockEntity(BlockPos pos) {
+        return null;
+    }
+
+    @Override
+    public int getHeight() {
+        return 384;
+    }
+
+    @Override
+    public int getBottomY() {
+        return -64;
+    }
+
+    public void addEntity(StandInEntity entity) {
+        entities.add(entity);
+        entitiesById.put(entity.uuid, entity);
+    }
+
+    public StandInEntity getEntity(UUID id) {
+        return entitiesById.get(id);
+    }
+
+    public List<StandInEntity> getEntitiesByBox(Box box, Predicate<StandInEntity> filter) {
+        List<StandInEntity> result = new ArrayList<>();
+        for (StandInEntity entity : entities) {
+            if (box.contains(entity.x, entity.y, entity.z) && filter.test(entity)) {
+                result.add(entity);
+            }
+        }
+        return result;
+    }
+}
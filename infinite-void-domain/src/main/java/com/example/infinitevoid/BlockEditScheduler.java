@@ -0,0 +1,201 @@
+// src/main/java/com/example/infinitevoid/BlockEditScheduler.java
+package com.example.infinitevoid;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.server.world.ServerWorld;
+
+// Queues block edits for one world and applies them under a per-tick budget, so casting or
+// ending a domain never rewrites tens of thousands of blocks in a single tick. Owners take
+// turns, so one domain's restore is not held up by another domain's build.
+public class BlockEditScheduler {
+    // Edits handed to the section writer between two budget checks
+    static final int SLICE_SIZE = 512;
+    // Edits one owner hands over before the next owner's turn
+    static final int TURN_SIZE = 128;
+
+    // Within one owner, lower ordinal drains first. Restores come last, so a domain's restore
+    // can never overtake any of its own pending build edits.
+    public enum Phase {
+        BARRIER, PLATFORM, INTERIOR, RESTORE
+    }
+
+    private static final Comparator<Batch> ORDER =
+            Comparator.<Batch>comparingInt(b -> b.phase.ordinal()).thenComparingLong(b -> b.seq);
+
+    private static final class Batch {
+        final SectionWriter.Target target;
+        final Phase phase;
+        final long seq;
+        final long[] positions;
+        final BlockState[] states; // null when every position gets the same state
+        final BlockState fill;
+        final long journalMark;
+        int cursor = 0;
+
+        Batch(EditStats stats, BlockEntityStore blockEntities, Phase phase, long seq,
+                long journalMark, long[] positions, BlockState[] states, BlockState fill,
+                Block onlyOver) {
+            this.target = new SectionWriter.Target(stats.counter(phase), blockEntities,
+                    phase == Phase.RESTORE, onlyOver);
+            this.phase = phase;
+            this.seq = seq;
+            this.journalMark = journalMark;
+            this.positions = positions;
+            this.states = states;
+            this.fill = fill;
+        }
+
+        BlockState stateAt(int index) {
+            return states != null ? states[index] : fill;
+        }
+    }
+
+    // The queued batches of one owner, counted by phase
+    private static final class Owner {
+        final Object key;
+        final PriorityQueue<Batch> batches = new PriorityQueue<>(ORDER);
+        final int[] pending = new int[Phase.values().length];
+
+        Owner(Object key) {
+            this.key = key;
+        }
+    }
+
+    private final SectionWriter writer;
+    private final SnapshotJournal journal;
+    private final Map<Object, Owner> owners = new IdentityHashMap<>();
+    // Owners with queued batches, next turn first
+    private final ArrayDeque<Owner> turns = new ArrayDeque<>();
+    private long nextSeq = 0;
+
+    public BlockEditScheduler(ServerWorld world, SnapshotJournal journal) {
+        this.writer = new SectionWriter(world);
+        this.journal = journal;
+    }
+
+    // Writes that turn out to be no-ops are skipped and counted in the owner's stats. Block
+    // entities that build writes replace are kept in the owner's store (if given) and put
+    // back by its restore writes.
+    public void submit(Object owner, EditStats stats, BlockEntityStore blockEntities,
+            Phase phase, long[] positions, BlockState state) {
+        enqueue(owner, new Batch(stats, blockEntities, phase, nextSeq++, markFor(phase),
+                positions, null, state, null));
+    }
+
+    public void submit(Object owner, EditStats stats, BlockEntityStore blockEntities,
+            Phase phase, long[] positions, BlockState[] states) {
+        enqueue(owner, new Batch(stats, blockEntities, phase, nextSeq++, markFor(phase),
+                positions, states, null, null));
+    }
+
+    // A restore that only writes over blocks that are still `onlyOver`; anything else was
+    // changed by someone else since it was built and stays. The check happens as each block
+    // is written, so build edits of the owner that were still queued are seen.
+    public void submitRestore(Object owner, EditStats stats, BlockEntityStore blockEntities,
+            long[] positions, BlockState[] states, Block onlyOver) {
+        enqueue(owner, new Batch(stats, blockEntities, Phase.RESTORE, nextSeq++, 0, positions,
+                states, null, onlyOver));
+    }
+
+    // Build edits overwrite original blocks, so they wait until the journal has the snapshot
+    // on disk. Restores only put originals back and can run right away.
+    private long markFor(Phase phase) {
+        return phase == Phase.RESTORE ? 0 : journal.pendingMark();
+    }
+
+    private void enqueue(Object key, Batch batch) {
+        if (batch.positions.length == 0) {
+            return;
+        }
+        Owner owner = owners.get(key);
+        if (owner == null) {
+            owner = new Owner(key);
+            owners.put(key, owner);
+            turns.add(owner);
+        }
+        owner.batches.add(batch);
+        owner.pending[batch.phase.ordinal()]++;
+    }
+
+    public boolean hasPending(Object owner) {
+        return owners.containsKey(owner);
+    }
+
+    public boolean hasPending(Object owner, Phase phase) {
+        Owner queued = owners.get(owner);
+        return queued != null && queued.pending[phase.ordinal()] > 0;
+    }
+
+    public boolean isIdle() {
+        return owners.isEmpty();
+    }
+
+    // Apply queued edits until either the block or the time budget for this tick runs out
+    public void tick() {
+        if (owners.isEmpty()) {
+            return;
+        }
+
+        DomainConfig config = DomainConfig.get();
+        int remaining = config.maxBlockEditsPerTick;
+        long deadline = System.nanoTime() + config.maxBlockEditNanosPerTick;
+        long durable = journal.durableMark();
+
+        // Hand edits to the writer a slice at a time; each slice is grouped by section and
+        // written before the clock is checked again. Within a slice the owners take turns; an
+        // owner whose next batch still waits for the journal is passed over.
+        while (remaining > 0 && !turns.isEmpty() && System.nanoTime() < deadline) {
+            int slice = Math.min(remaining, SLICE_SIZE);
+            int taken = 0;
+            int passed = 0;
+
+            while (taken < slice && !turns.isEmpty() && passed < turns.size()) {
+                Owner owner = turns.poll();
+                int took = turn(owner, Math.min(slice - taken, TURN_SIZE), durable);
+                taken += took;
+                passed = took == 0 ? passed + 1 : 0;
+                if (owner.batches.isEmpty()) {
+                    owners.remove(owner.key);
+                } else {
+                    turns.add(owner);
+                }
+            }
+
+            writer.flush();
+            if (taken == 0) {
+                break;
+            }
+            remaining -= taken;
+        }
+    }
+
+    // Hand up to `limit` edits of one owner to the writer, stopping at a batch whose snapshot
+    // is not on disk yet; returns how many
+    private int turn(Owner owner, int limit, long durable) {
+        int taken = 0;
+        while (taken < limit && !owner.batches.isEmpty()) {
+            Batch batch = owner.batches.peek();
+            if (batch.journalMark > durable) {
+                break;
+            }
+
+            while (batch.cursor < batch.positions.length && taken < limit) {
+                int i = batch.cursor++;
+                writer.add(batch.positions[i], batch.stateAt(i), batch.target);
+                taken++;
+            }
+
+            if (batch.cursor >= batch.positions.length) {
+                owner.batches.poll();
+                owner.pending[batch.phase.ordinal()]--;
+            }
+        }
+        return taken;
+    }
+}
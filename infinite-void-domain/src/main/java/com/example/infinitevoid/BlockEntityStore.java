@@ -0,0 +1,196 @@
+// src/main/java/com/example/infinitevoid/BlockEntityStore.java
+package com.example.infinitevoid;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.block.entity.BlockEntityType;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.nbt.NbtSizeTracker;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.Clearable;
+import net.minecraft.util.math.BlockPos;
+
+// Block entity data (chest contents, sign text, spawner settings, ...) of the blocks one domain
+// overwrites, as gzipped NBT appended to an off-heap buffer, so a domain full of chests keeps a
+// few compressed bytes per chest instead of live NBT trees. Entries are saved and journaled
+// when their block is captured, so the journal mark of the batch that overwrites the block
+// covers them; the overwrite only saves again if the data changed in between. Restore edits
+// load the entries back one block at a time, inside the edit scheduler's budget.
+public class BlockEntityStore {
+    private static final int INITIAL_CAPACITY = 16 * 1024;
+
+    private final SnapshotJournal journal;
+    private final long journalId;
+    // Packed position -> offset << 32 | length in `data`; a later save of the same position
+    // wins
+    private final Long2LongOpenHashMap entries = new Long2LongOpenHashMap();
+    // Type of the block entity each entry was captured from
+    private final Long2ObjectOpenHashMap<BlockEntityType<?>> types =
+            new Long2ObjectOpenHashMap<>();
+    private ByteBuffer data;
+
+    public BlockEntityStore(SnapshotJournal journal, long journalId) {
+        this.journal = journal;
+        this.journalId = journalId;
+        entries.defaultReturnValue(-1);
+    }
+
+    // Keep and journal the block entity's data as its block is captured
+    public void capture(ServerWorld world, BlockPos pos, BlockEntity blockEntity) {
+        byte[] compressed = compress(world, pos, blockEntity);
+        if (compressed != null) {
+            put(pos.asLong(), compressed);
+            types.put(pos.asLong(), blockEntity.getType());
+            journal.blockEntity(journalId, pos.asLong(), compressed);
+        }
+    }
+
+    // Empty the block entity just before its block is replaced, so its contents are not
+    // dropped into the world as items. Data that changed since capture (a hopper filled the
+    // chest) is kept and journaled again; until that record is flushed a crash restores the
+    // captured data. Returns false and leaves the block entity alone if it is not the one
+    // captured here: data of another type could not be loaded into the restored block.
+    public boolean save(ServerWorld world, BlockPos pos, BlockEntity blockEntity) {
+        BlockEntityType<?> type = types.get(pos.asLong());
+        if (type != blockEntity.getType()) {
+            if (type != null) {
+                // Swapped for another block entity since capture: the captured one is gone
+                discard(pos);
+            }
+            return false;
+        }
+        byte[] compressed = compress(world, pos, blockEntity);
+        if (compressed == null) {
+            return false;
+        }
+        if (!Arrays.equals(compressed, get(pos.asLong()))) {
+            put(pos.asLong(), compressed);
+            journal.blockEntity(journalId, pos.asLong(), compressed);
+        }
+        Clearable.clear(blockEntity);
+        return true;
+    }
+
+    // The block captured here is gone (broken or replaced since), so there is nothing to put
+    // back into it
+    public void discard(BlockPos pos) {
+        types.remove(pos.asLong());
+        if (!entries.isEmpty() && entries.remove(pos.asLong()) != -1 && entries.isEmpty()) {
+            data = null;
+        }
+    }
+
+    private static byte[] compress(ServerWorld world, BlockPos pos, BlockEntity blockEntity) {
+        NbtCompound nbt = blockEntity.createNbtWithIdentifyingData(world.getRegistryManager());
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            NbtIo.writeCompressed(nbt, out);
+            return out.toByteArray();
+        } catch (IOException e) {
+            DomainExpansionMod.LOGGER.warn("Failed to save block entity at {}",
+                    pos.toShortString(), e);
+            return null;
+        }
+    }
+
+    // The saved data of a position, or null
+    private byte[] get(long pos) {
+        long entry = entries.get(pos);
+        if (entry == -1) {
+            return null;
+        }
+        byte[] compressed = new byte[(int) entry];
+        data.get((int) (entry >>> 32), compressed);
+        return compressed;
+    }
+
+    private void put(long pos, byte[] compressed) {
+        if (data == null) {
+            data = ByteBuffer.allocateDirect(Math.max(INITIAL_CAPACITY, compressed.length));
+        } else if (data.remaining() < compressed.length) {
+            ByteBuffer grown = ByteBuffer.allocateDirect(
+                    Math.max(data.capacity() * 2, data.position() + compressed.length));
+            data.flip();
+            grown.put(data);
+            data = grown;
+        }
+        entries.put(pos, (long) data.position() << 32 | compressed.length);
+        data.put(compressed);
+    }
+
+    // Put the saved data back into the block entity the restored block just created, if it is
+    // of the same type. The entry is dropped either way.
+    public void load(ServerWorld world, BlockPos pos, BlockState state) {
+        long entry = entries.remove(pos.asLong());
+        types.remove(pos.asLong());
+        if (entry == -1) {
+            return;
+        }
+        BlockEntity blockEntity = world.getBlockEntity(pos);
+        if (blockEntity == null) {
+            return;
+        }
+
+        byte[] compressed = new byte[(int) entry];
+        data.get((int) (entry >>> 32), compressed);
+        if (apply(world, blockEntity, compressed)) {
+            world.updateListeners(pos, state, state, Block.NOTIFY_LISTENERS);
+        } else {
+            DomainExpansionMod.LOGGER.warn("Dropped block entity data at {}",
+                    pos.toShortString());
+        }
+        if (entries.isEmpty()) {
+            // Nothing left to restore: free the buffer now rather than with the domain
+            data = null;
+        }
+    }
+
+    // Read gzipped NBT into a block entity of the matching type
+    static boolean apply(ServerWorld world, BlockEntity blockEntity, byte[] compressed) {
+        NbtCompound nbt = decompress(compressed);
+        if (nbt == null || !isType(nbt, blockEntity)) {
+            return false;
+        }
+        blockEntity.read(nbt, world.getRegistryManager());
+        blockEntity.markDirty();
+        return true;
+    }
+
+    // Whether gzipped NBT was saved from a block entity of this one's type
+    static boolean isType(BlockEntity blockEntity, byte[] compressed) {
+        NbtCompound nbt = decompress(compressed);
+        return nbt != null && isType(nbt, blockEntity);
+    }
+
+    private static boolean isType(NbtCompound nbt, BlockEntity blockEntity) {
+        return nbt.getString("id")
+                .equals(String.valueOf(BlockEntityType.getId(blockEntity.getType())));
+    }
+
+    private static NbtCompound decompress(byte[] compressed) {
+        try {
+            return NbtIo.readCompressed(new ByteArrayInputStream(compressed),
+                    NbtSizeTracker.ofUnlimitedBytes());
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    // Off-heap bytes held, plus the index
+    public long estimatedBytes() {
+        return (data != null ? data.capacity() : 0) + 16L * entries.size();
+    }
+}
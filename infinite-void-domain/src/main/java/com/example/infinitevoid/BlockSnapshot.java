@@ -0,0 +1,81 @@
+// src/main/java/com/example/infinitevoid/BlockSnapshot.java
+package com.example.infinitevoid;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import net.minecraft.block.BlockState;
+
+// Original block states for one DomainGeometry table (shell, disk or interior). Entry i belongs
+// to offset i of that table, so positions are never stored; states are 16-bit indices into a
+// small per-snapshot palette. Lookups by table index are O(1), and walking the captured entries
+// skips 64 uncaptured ones per step, so a sparse interior is restored in time proportional to
+// what was actually changed.
+public class BlockSnapshot {
+    private static final char NOT_CAPTURED = 0;
+
+    private final char[] entries; // palette index + 1, or NOT_CAPTURED
+    private final BitSet captured;
+    private final List<BlockState> palette = new ArrayList<>();
+    private final Reference2IntOpenHashMap<BlockState> paletteIndex =
+            new Reference2IntOpenHashMap<>();
+    private int capturedCount = 0;
+
+    public BlockSnapshot(int size) {
+        this.entries = new char[size];
+        this.captured = new BitSet(size);
+        paletteIndex.defaultReturnValue(-1);
+    }
+
+    public void capture(int index, BlockState state) {
+        int id = paletteIndex.getInt(state);
+        if (id < 0) {
+            if (palette.size() == Character.MAX_VALUE - 1) {
+                throw new IllegalStateException("Snapshot palette is full");
+            }
+            id = palette.size();
+            palette.add(state);
+            paletteIndex.put(state, id);
+        }
+
+        if (entries[index] == NOT_CAPTURED) {
+            capturedCount++;
+            captured.set(index);
+        }
+        entries[index] = (char) (id + 1);
+    }
+
+    public boolean isCaptured(int index) {
+        return entries[index] != NOT_CAPTURED;
+    }
+
+    // First captured index at or after `from`, or -1
+    public int nextCaptured(int from) {
+        return captured.nextSetBit(from);
+    }
+
+    // Last captured index at or before `from`, or -1
+    public int previousCaptured(int from) {
+        return from < 0 ? -1 : captured.previousSetBit(from);
+    }
+
+    // Original state at the given table index, or null if it was never captured
+    public BlockState get(int index) {
+        char entry = entries[index];
+        return entry == NOT_CAPTURED ? null : palette.get(entry - 1);
+    }
+
+    public int size() {
+        return entries.length;
+    }
+
+    public int capturedCount() {
+        return capturedCount;
+    }
+
+    // Rough heap footprint: the entry array and captured bits plus palette bookkeeping
+    public long estimatedBytes() {
+        return 16L + 2L * entries.length + entries.length / 8 + 32L * palette.size();
+    }
+}
@@ -0,0 +1,98 @@
+// src/main/java/com/example/infinitevoid/CastPreparation.java
+package com.example.infinitevoid;
+
+import java.util.concurrent.CompletableFuture;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Vec3d;
+
+// A cast between the key press and the domain's first tick. Everything the cast needs is fixed
+// when it is requested (center, size, config), then made ready off the server thread: the
+// geometry tables and the position plan are built on the planner pool while the footprint's
+// chunks load behind their tickets. The Domain is only created once all of it is there, so the
+// animation starts with nothing left to wait for.
+public class CastPreparation {
+    // Longest wait for the footprint to load before the cast is given up. Starting without it
+    // would load the missing chunks synchronously on the server thread.
+    private static final int CHUNK_WAIT_TICKS = 10 * DomainTimeline.TICKS_PER_SECOND;
+
+    final ServerPlayerEntity caster;
+    final ServerWorld world;
+    final Vec3d originalCasterPos;
+    final BlockPos center;
+    final int platformY;
+    final int radius;
+    final DomainConfig config;
+    final DomainChunks chunks;
+    private final CompletableFuture<DomainGeometry> geometry;
+    // Started once the geometry is there
+    private DomainPlanner planner;
+    private int chunkWaitTicks = 0;
+
+    public CastPreparation(ServerPlayerEntity caster) {
+        this.caster = caster;
+        this.world = caster.getServerWorld();
+        this.originalCasterPos = caster.getPos();
+
+        // Center the domain on the block under the player's feet, not on entity coordinates
+        BlockPos feet = caster.getBlockPos().down();
+        this.platformY = feet.getY();
+        this.center = new BlockPos(feet.getX(), platformY, feet.getZ());
+
+        // A sphere taller than the world would be mostly clipped away; keep it within the
+        // world's height
+        this.config = DomainConfig.get();
+        this.radius = Math.max(DomainGeometry.MIN_RADIUS,
+                Math.min(config.domainRadius, world.getHeight() / 2 - 1));
+        this.geometry = DomainPlanner.planGeometry(radius);
+        this.chunks = new DomainChunks(world, center, radius + 1);
+        chunks.acquire();
+    }
+
+    public ServerPlayerEntity getCaster() {
+        return caster;
+    }
+
+    public ServerWorld getWorld() {
+        return world;
+    }
+
+    // Advance by one world tick; true once the domain can start
+    public boolean tick() {
+        if (planner == null) {
+            DomainGeometry tables = geometry.getNow(null);
+            if (tables == null) {
+                return false;
+            }
+            planner = new DomainPlanner(center, tables);
+        }
+        if (planner.positionsNow() == null) {
+            return false;
+        }
+        if (chunks.allLoaded()) {
+            return true;
+        }
+        chunkWaitTicks++;
+        return false;
+    }
+
+    // The footprint did not load in time; the cast should be cancelled
+    public boolean timedOut() {
+        return chunkWaitTicks >= CHUNK_WAIT_TICKS;
+    }
+
+    // Only valid once tick() returned true
+    DomainGeometry geometry() {
+        return geometry.join();
+    }
+
+    DomainPlanner planner() {
+        return planner;
+    }
+
+    // The cast was dropped before it started; let the footprint unload again
+    public void cancel() {
+        chunks.release();
+    }
+}
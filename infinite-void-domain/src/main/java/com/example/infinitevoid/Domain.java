@@ -6,17 +6,19 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import com.example.infinitevoid.BlockEditScheduler.Phase;
 import com.example.infinitevoid.network.DomainPayloads;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.fabricmc.fabric.api.networking.v1.PlayerLookup;
 import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
+import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.Blocks;
-import net.minecraft.entity.Entity;
+import net.minecraft.block.entity.BlockEntity;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.entity.effect.StatusEffectInstance;
 import net.minecraft.entity.effect.StatusEffects;
-import net.minecraft.entity.mob.MobEntity;
-import net.minecraft.nbt.NbtCompound;
-import net.minecraft.particle.ParticleTypes;
 import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.text.Text;
@@ -24,51 +26,168 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Box;
 import net.minecraft.util.math.Vec3d;
 
-public class Domain {
+public class Domain implements TickPipeline.Stage {
     private final ServerPlayerEntity caster;
     private final ServerWorld world;
-    private final long castStart = System.currentTimeMillis();
-    private final long barrierComplete = castStart + 2_000;
-    private final long activationTime = castStart + 3_000;
+    // Server ticks since the cast started; every phase is scheduled against this counter
+    private long ticks = 0;
     private boolean barrierBuilt = false, activated = false, breaking = false, finished = false;
-    private long domainActiveTime;
-    private final Map<UUID, Vec3d> trapped = new HashMap<>();
-    private final Map<UUID, Boolean> originalAI = new HashMap<>();
-    private final Map<BlockPos, BlockState> originalBlocks = new HashMap<>();
-    private final Map<BlockPos, BlockState> originalUpperBlocks = new HashMap<>();
-    private final Map<BlockPos, BlockState> originalPlatformBlocks = new HashMap<>();
-    private int currentBarrierHeight = 0;
+    private boolean restoring = false;
+    private long domainActiveTick;
+    private final TrappedEntities trapped = new TrappedEntities();
+    // Next shell index to queue; the table is sorted by Y, so the barrier rises from the bottom
+    private int barrierCursor = 0;
     private final BlockPos domainCenter;
     private final int platformY; // The Y level of the platform
     private final Vec3d originalCasterPos;
 
-    // Platform building animation
-    private double currentPlatformRadius = 0;
+    // Platform building animation (index into the distance-sorted disk table)
+    private int platformCursor = 0;
     private boolean platformComplete = false;
-    private long platformBuildStart = 0;
 
     // Breaking animation
     private boolean breakingStarted = false;
-    private long breakingStartTime;
-    private int currentBreakingHeight = DOMAIN_RADIUS;
-    private double currentBreakingPlatformRadius = DOMAIN_RADIUS - 1;
+    private long breakingStartTick;
+
+    // How often players who walk into range are sent the activation state
+    private static final int OBSERVER_SYNC_TICKS = 10;
+
+    // Size, phase lengths and cooldown, fixed from the config when the cast starts
+    private final int radius;
+    private final DomainTimeline timeline;
+    private final int cooldownTicks;
+    private final int sleepTimeoutTicks;
+    // Consecutive ticks the domain slept through (see WorldDomains.tick)
+    private int sleptTicks = 0;
+
+    // Precomputed shell/disk/interior offsets shared by all domains of this radius
+    private final DomainGeometry geometry;
+
+    // Original blocks, indexed like the geometry tables they belong to
+    private final BlockSnapshot originalBlocks;
+    private final BlockSnapshot originalUpperBlocks;
+    private final BlockSnapshot originalPlatformBlocks;
+    // Identifies this domain's records in the world's snapshot journal
+    private final long journalId = ThreadLocalRandom.current().nextLong();
+    // Original blocks are captured lazily; everything below these table indices is on record
+    private int shellCaptured = 0, diskCaptured = 0;
+    // The interior is cleared from activation on, a slice at a time and above the platform
+    // first. `interiorCursor` counts the indices captured in that order; [interiorPendingStart,
+    // interiorPendingEnd) is the slice captured but not queued yet, and `interiorQueued` how many
+    // indices in that order have been queued.
+    private int interiorCursor = 0, interiorPendingStart = 0, interiorPendingEnd = 0;
+    private int interiorQueued = 0;
+    // Set once the space above the platform is written as air; entities are trapped only then
+    private boolean interiorAboveCleared = false;
+    // Tickets keeping every chunk the domain touches loaded until its restore is done
+    private final DomainChunks chunks;
+    // Contents of the block entities the domain overwrites, restored along with their blocks
+    private final BlockEntityStore blockEntities;
+    // Interior reads go through chunk sections, so air and single-state sections cost no reads
+    private final SectionReader interiorReader;
+    private final EditStats editStats = new EditStats();
+    // Time spent in read, compute and apply over the domain's life, for /domain stats
+    private final long[] phaseNanos = new long[3];
+    // Position tables are planned off the server thread
+    private final DomainPlanner planner;
+    // Particle parameters sent to nearby clients, which expand them locally
+    private final DomainParticles particles;
+    // World time at activation; clients time the void effects from it
+    private long activationTime;
+    // Players that were sent the activation state, as the entity it was sent to (a player
+    // who reconnects or respawns is a new entity and gets it again)
+    private final Map<UUID, ServerPlayerEntity> observers = new HashMap<>();
+    // Table indices at or above these have been queued for restore by the break animation
+    private int shellRestoreEnd;
+    private int platformRestoreEnd;
+
+    // One table range to queue this tick; a restore may be limited to blocks that are still
+    // `onlyOver` when it is written
+    private static final class Slice {
+        final Phase phase;
+        final int table; // SnapshotJournal.TABLE_*
+        final int start, end;
+        final Block onlyOver;
+
+        Slice(Phase phase, int table, int start, int end) {
+            this(phase, table, start, end, null);
+        }
 
-    // Domain radius
-    private static final int DOMAIN_RADIUS = 25;
-    // Cooldown time in ticks (120 seconds = 2400 ticks)
-    private static final int COOLDOWN_TICKS = 2400;
+        Slice(Phase phase, int table, int start, int end, Block onlyOver) {
+            this.phase = phase;
+            this.table = table;
+            this.start = start;
+            this.end = end;
+            this.onlyOver = onlyOver;
+        }
+    }
 
-    public Domain(ServerPlayerEntity caster) {
-        this.caster = caster;
-        this.world = caster.getServerWorld();
-        this.originalCasterPos = caster.getPos();
+    // Receives the non-air blocks found by walkInterior, by interior table index
+    interface InteriorCapture {
+        void capture(int index, BlockState original);
+    }
+
+    // A batch ready for the edit scheduler
+    static final class Edit {
+        final Phase phase;
+        final long[] positions;
+        final BlockState[] states; // null when every position gets `fill`
+        final BlockState fill;
+        final Block onlyOver; // Restores only: positions holding anything else are left alone
+
+        Edit(Phase phase, long[] positions, BlockState fill) {
+            this(phase, positions, null, fill, null);
+        }
 
-        // Get the exact block position under the player's feet
-        BlockPos playerFeetPos = caster.getBlockPos().down();
-        this.platformY = playerFeetPos.getY();
+        Edit(Phase phase, long[] positions, BlockState[] states) {
+            this(phase, positions, states, null, null);
+        }
+
+        Edit(Phase phase, long[] positions, BlockState[] states, Block onlyOver) {
+            this(phase, positions, states, null, onlyOver);
+        }
+
+        private Edit(Phase phase, long[] positions, BlockState[] states, BlockState fill,
+                Block onlyOver) {
+            this.phase = phase;
+            this.positions = positions;
+            this.states = states;
+            this.fill = fill;
+            this.onlyOver = onlyOver;
+        }
+    }
 
-        // Center the domain on the block coordinates, not entity coordinates
-        this.domainCenter = new BlockPos(playerFeetPos.getX(), platformY, playerFeetPos.getZ());
+    // Work of the current tick: read() records the table ranges to queue and samples the
+    // world, compute() turns them into edit batches off the server thread, apply() submits
+    private final List<Slice> slices = new ArrayList<>();
+    private final List<Edit> queued = new ArrayList<>();
+    private DomainParticles.Effect effect;
+    private boolean barrierDone, activating, finishing, stunning;
+
+    // Start a prepared cast: its geometry, position plan and chunks are all ready
+    public Domain(CastPreparation cast) {
+        this.caster = cast.caster;
+        this.world = cast.world;
+        this.interiorReader = new SectionReader(world);
+        this.blockEntities = new BlockEntityStore(journal(), journalId);
+        this.originalCasterPos = cast.originalCasterPos;
+        this.platformY = cast.platformY;
+        this.domainCenter = cast.center;
+
+        this.radius = cast.radius;
+        this.geometry = cast.geometry();
+        this.timeline = DomainTimeline.forCast(cast.config, geometry);
+        this.cooldownTicks = cast.config.cooldownTicks;
+        this.sleepTimeoutTicks = cast.config.sleepTimeoutTicks;
+        this.originalBlocks = new BlockSnapshot(geometry.shellSize());
+        this.originalUpperBlocks = new BlockSnapshot(geometry.interiorSize());
+        this.originalPlatformBlocks = new BlockSnapshot(geometry.diskSize());
+        this.shellRestoreEnd = geometry.shellSize();
+        this.platformRestoreEnd = geometry.diskSize();
+        this.chunks = cast.chunks;
+        this.planner = cast.planner();
+        this.particles = new DomainParticles(domainCenter, platformY, radius,
+                ThreadLocalRandom.current().nextLong());
 
         startBarrierConstruction();
         ServerPlayNetworking.send(caster, new DomainPayloads.StartCastPayload());
@@ -78,6 +197,18 @@ public class Domain {
         return caster;
     }
 
+    public ServerWorld getWorld() {
+        return world;
+    }
+
+    public BlockPos getCenter() {
+        return domainCenter;
+    }
+
+    public int getRadius() {
+        return radius;
+    }
+
     public boolean isActive() {
         return activated;
     }
@@ -86,317 +217,551 @@ public class Domain {
         return finished;
     }
 
+    // A breaking domain runs to its end even with nobody nearby: its footprint's tickets only
+    // go once the restore has drained, and they do not make the chunks tick
+    public boolean isWindingDown() {
+        return breaking || restoring;
+    }
+
+    public long getTicks() {
+        return ticks;
+    }
+
+    public EditStats getEditStats() {
+        return editStats;
+    }
+
+    public String getStateName() {
+        return restoring ? "restoring" : breaking ? "breaking" : activated ? "active" : "casting";
+    }
+
+    // Block and section lookups of the interior capture so far
+    public long getInteriorBlockReads() {
+        return interiorReader.blockReads();
+    }
+
+    public long getInteriorSectionReads() {
+        return interiorReader.sectionReads();
+    }
+
+    public long getSnapshotBytes() {
+        return originalBlocks.estimatedBytes() + originalUpperBlocks.estimatedBytes()
+                + originalPlatformBlocks.estimatedBytes() + blockEntities.estimatedBytes();
+    }
+
+    // Mean time per tick of one pipeline phase (READ, COMPUTE or APPLY) in microseconds
+    public double meanPhaseMicros(DomainMetrics.Timer timer) {
+        return ticks == 0 ? 0 : phaseNanos[timer.ordinal()] / (ticks * 1_000.0);
+    }
+
+    // Add one phase's time to this domain and to the server-wide metrics
+    private void time(DomainMetrics.Timer timer, long start) {
+        long elapsed = System.nanoTime() - start;
+        phaseNanos[timer.ordinal()] += elapsed;
+        metrics().record(timer, elapsed);
+    }
+
+    private static DomainMetrics metrics() {
+        return DomainManager.get().getMetrics();
+    }
+
     public void requestBreak() {
         if (activated && !breaking) {
             breaking = true;
             breakingStarted = true;
-            breakingStartTime = System.currentTimeMillis();
+            breakingStartTick = ticks;
             caster.sendMessage(Text.literal("§6Breaking Domain Expansion..."));
         }
     }
 
+    // Called for every tick the domain sleeps. An active domain left asleep too long breaks: its
+    // tickets, journal entry, frozen mobs and blocks would otherwise be held forever.
+    public void sleep() {
+        if (activated && ++sleptTicks >= sleepTimeoutTicks) {
+            requestBreak();
+        }
+    }
+
     public static boolean canCast(ServerPlayerEntity player) {
         return !player.hasStatusEffect(StatusEffects.MINING_FATIGUE);
     }
 
     private void startBarrierConstruction() {
-        // Store original blocks for the barrier sphere
-        for (int x = -DOMAIN_RADIUS; x <= DOMAIN_RADIUS; x++) {
-            for (int y = -DOMAIN_RADIUS; y <= DOMAIN_RADIUS; y++) {
-                for (int z = -DOMAIN_RADIUS; z <= DOMAIN_RADIUS; z++) {
-                    double distance = Math.sqrt(x * x + y * y + z * z);
-                    if (distance >= DOMAIN_RADIUS - 1 && distance <= DOMAIN_RADIUS + 1) {
-                        BlockPos pos = domainCenter.add(x, y, z);
-                        originalBlocks.put(pos, world.getBlockState(pos));
+        // Original blocks are captured wave by wave, just ahead of the edits that replace them
+        journal().begin(journalId, domainCenter, radius);
+    }
+
+    // Store original blocks for the barrier sphere up to (not including) the given index
+    private void captureShell(int end) {
+        for (int i = shellCaptured; i < end; i++) {
+            capture(originalBlocks, SnapshotJournal.TABLE_SHELL, i,
+                    world.getBlockState(at(geometry.shellOffset(i))));
+        }
+        shellCaptured = Math.max(shellCaptured, end);
+    }
+
+    // Store original blocks where the platform will be built. The ring shared with the barrier
+    // is already on record in the shell snapshot, and by now it holds obsidian.
+    private void captureDisk(int end) {
+        for (int i = diskCaptured; i < end; i++) {
+            if (!geometry.isDiskInShell(i)) {
+                capture(originalPlatformBlocks, SnapshotJournal.TABLE_DISK, i,
+                        world.getBlockState(at(geometry.diskOffset(i))));
+            }
+        }
+        diskCaptured = Math.max(diskCaptured, end);
+    }
+
+    // Store non-air interior blocks of table indices [start, end); air needs no restoring.
+    // Returns where it stopped (see walkInterior).
+    private int captureInterior(int start, int end, int limit) {
+        long blockReads = interiorReader.blockReads();
+        long sectionReads = interiorReader.sectionReads();
+        int stop = walkInterior(geometry, domainCenter, interiorReader, start, end, limit,
+                (index, original) -> capture(originalUpperBlocks, SnapshotJournal.TABLE_INTERIOR,
+                        index, original));
+        metrics().add(DomainMetrics.Counter.INTERIOR_BLOCK_READS,
+                interiorReader.blockReads() - blockReads);
+        metrics().add(DomainMetrics.Counter.INTERIOR_SECTION_READS,
+                interiorReader.sectionReads() - sectionReads);
+        return stop;
+    }
+
+    // Hand every non-air block of interior indices [start, end) to `capture`. The table runs
+    // along z within each row, so every stretch of a row inside one chunk section is handled at
+    // once: stretches in all-air sections are skipped, single-state sections are captured
+    // without any block reads, and only mixed sections are read block by block. Stops after the
+    // stretch where `limit` blocks were read or captured; returns where it stopped.
+    static int walkInterior(DomainGeometry geometry, BlockPos center, SectionReader reader,
+            int start, int end, int limit, InteriorCapture capture) {
+        reader.reset();
+        int work = 0;
+        int i = start;
+        while (i < end && work < limit) {
+            int offset = geometry.interiorOffset(i);
+            int x = center.getX() + DomainGeometry.unpackX(offset);
+            int y = center.getY() + DomainGeometry.unpackY(offset);
+            int z = center.getZ() + DomainGeometry.unpackZ(offset);
+
+            // Consecutive z in a row pack to consecutive offsets; stop at the section edge
+            int runEnd = i + 1;
+            int sectionEnd = i + 16 - (z & 15);
+            while (runEnd < end && runEnd < sectionEnd
+                    && geometry.interiorOffset(runEnd) == offset + (runEnd - i)) {
+                runEnd++;
+            }
+
+            reader.seek(x, y, z);
+            BlockState uniform = reader.uniformState();
+            if (uniform == null) {
+                for (int j = i; j < runEnd; j++) {
+                    BlockState original = reader.get(x, y, z + (j - i));
+                    if (!original.isAir()) {
+                        capture.capture(j, original);
                     }
                 }
+                work += runEnd - i;
+            } else if (!uniform.isAir()) {
+                for (int j = i; j < runEnd; j++) {
+                    capture.capture(j, uniform);
+                }
+                work += runEnd - i;
             }
+            i = runEnd;
         }
+        return i;
+    }
 
-        // Store original blocks where the platform will be built (extend to barrier edge)
-        for (int x = -DOMAIN_RADIUS; x <= DOMAIN_RADIUS; x++) {
-            for (int z = -DOMAIN_RADIUS; z <= DOMAIN_RADIUS; z++) {
-                double distance = Math.sqrt(x * x + z * z);
-                if (distance < DOMAIN_RADIUS) { // Platform extends to just before the barrier
-                    BlockPos pos = new BlockPos(domainCenter.getX() + x, platformY,
-                            domainCenter.getZ() + z);
-                    originalPlatformBlocks.put(pos, world.getBlockState(pos));
-                }
+    // One step of the interior clear: once this domain's last interior batch is written, queue
+    // the slice captured on the previous step and capture the next one. Every block is on
+    // record the tick before it is cleared, as with the barrier waves, so blocks mined or
+    // placed during the cast are seen as they are.
+    private void clearInteriorStep() {
+        if (edits().hasPending(this, Phase.INTERIOR)) {
+            return;
+        }
+
+        // Blocks above the platform go first so trapped entities are not left standing inside
+        // terrain. Everything queued so far is written now, so once that covers them the
+        // domain may activate.
+        int size = geometry.interiorSize();
+        int aboveStart = geometry.interiorAboveStart();
+        if (interiorQueued >= size - aboveStart) {
+            interiorAboveCleared = true;
+        }
+
+        if (interiorPendingEnd > interiorPendingStart) {
+            slices.add(new Slice(Phase.INTERIOR, SnapshotJournal.TABLE_INTERIOR,
+                    interiorPendingStart, interiorPendingEnd));
+            interiorQueued += interiorPendingEnd - interiorPendingStart;
+            interiorPendingStart = interiorPendingEnd;
+        }
+
+        if (interiorCursor < size) {
+            boolean above = interiorCursor < size - aboveStart;
+            int start = above ? aboveStart + interiorCursor : interiorCursor - (size - aboveStart);
+            int stop = captureInterior(start, above ? size : aboveStart,
+                    DomainConfig.get().maxBlockEditsPerTick);
+            interiorCursor += stop - start;
+            interiorPendingStart = start;
+            interiorPendingEnd = stop;
+        }
+    }
+
+    // Every captured block is also journaled so it survives a crash, block entity data
+    // included: it is on record before the batch that overwrites the block may run
+    private void capture(BlockSnapshot snapshot, int table, int index, BlockState state) {
+        snapshot.capture(index, state);
+        journal().capture(journalId, table, index, state);
+        if (state.hasBlockEntity()) {
+            BlockPos pos = at(table == SnapshotJournal.TABLE_SHELL ? geometry.shellOffset(index)
+                    : table == SnapshotJournal.TABLE_DISK ? geometry.diskOffset(index)
+                    : geometry.interiorOffset(index));
+            BlockEntity blockEntity = world.getBlockEntity(pos);
+            if (blockEntity != null) {
+                blockEntities.capture(world, pos, blockEntity);
             }
         }
     }
 
-    private boolean isInsideDomain(Vec3d pos) {
-        double distance = pos.distanceTo(
-                new Vec3d(domainCenter.getX(), domainCenter.getY(), domainCenter.getZ()));
-        return distance <= DOMAIN_RADIUS - 1;
+    private SnapshotJournal journal() {
+        return DomainManager.get().getJournal(world);
+    }
+
+    private BlockPos at(int offset) {
+        return domainCenter.add(DomainGeometry.unpackX(offset), DomainGeometry.unpackY(offset),
+                DomainGeometry.unpackZ(offset));
+    }
+
+    // All block writes go through the world's scheduler so they are spread over several ticks
+    private BlockEditScheduler edits() {
+        return DomainManager.get().getEditScheduler(world);
     }
 
-    public void tick() {
-        long now = System.currentTimeMillis();
+    private boolean isInsideDomain(double x, double y, double z) {
+        return isInside(domainCenter, radius, x, y, z);
+    }
+
+    private static boolean isInside(BlockPos center, int radius, double x, double y, double z) {
+        double dx = x - center.getX();
+        double dy = y - center.getY();
+        double dz = z - center.getZ();
+        return dx * dx + dy * dy + dz * dz <= (radius - 1) * (radius - 1);
+    }
+
+    // Whether a living entity that just entered the world must be kept out: once the domain is
+    // up, anything inside that was not trapped on activation spawned there afterwards
+    public boolean rejectsEntity(LivingEntity entity) {
+        return activated && !breaking && !restoring && entity != caster
+                && rejectsAt(domainCenter, radius, trapped, entity.getUuid(), entity.getX(),
+                        entity.getY(), entity.getZ());
+    }
+
+    // The trap and sphere half of rejectsEntity
+    static boolean rejectsAt(BlockPos center, int radius, TrappedEntities trapped, UUID id,
+            double x, double y, double z) {
+        return !trapped.contains(id) && isInside(center, radius, x, y, z);
+    }
+
+    @Override
+    public void read() {
+        long start = System.nanoTime();
+        readTick();
+        time(DomainMetrics.Timer.READ, start);
+    }
+
+    @Override
+    public void compute() {
+        long start = System.nanoTime();
+        computeTick();
+        time(DomainMetrics.Timer.COMPUTE, start);
+    }
+
+    @Override
+    public void apply() {
+        long start = System.nanoTime();
+        applyTick();
+        time(DomainMetrics.Timer.APPLY, start);
+    }
+
+    private void readTick() {
+        barrierDone = activating = finishing = stunning = false;
+        sleptTicks = 0;
+        effect = null;
+
+        ticks++;
+
+        // Wait for the queued restore edits before reporting the domain as finished; only then
+        // may the footprint unload
+        if (restoring) {
+            if (!edits().hasPending(this)) {
+                journal().end(journalId);
+                chunks.release();
+                metrics().addFinished(editStats);
+                finished = true;
+            }
+            return;
+        }
 
         if (breaking && breakingStarted) {
-            if (now < breakingStartTime + 3_000) {
-                breakBarrierAndPlatform(now);
+            long elapsed = ticks - breakingStartTick;
+            if (elapsed < timeline.breakTicks) {
+                breakBarrierAndPlatform(elapsed);
             } else {
                 finish();
                 return;
             }
         }
 
-        if (!breaking && !barrierBuilt && now < barrierComplete) {
-            buildBarrierLayer(now);
+        // The interior is cleared from activation on; its first slice is captured the tick
+        // before
+        if (!breaking && ticks >= timeline.activationTick - 1) {
+            clearInteriorStep();
+        }
+
+        if (!breaking && !barrierBuilt && ticks < timeline.barrierTicks) {
+            buildBarrierLayer(ticks);
         } else if (!breaking && !barrierBuilt) {
             finishBarrier();
             barrierBuilt = true;
-            platformBuildStart = now; // Start platform building after barrier is complete
         }
 
-        if (!breaking && barrierBuilt && !platformComplete && now < activationTime) {
-            buildPlatformLayer(now);
-            playLightSpeedAnimation();
-        } else if (!breaking && barrierBuilt && !platformComplete && now >= activationTime) {
+        // Platform building starts on the tick after the barrier is complete
+        long platformTick = ticks - timeline.barrierTicks;
+        if (!breaking && barrierBuilt && !platformComplete
+                && ticks < timeline.activationTick) {
+            buildPlatformLayer(platformTick);
+            effect = DomainParticles.Effect.LIGHT_SPEED;
+        } else if (!breaking && barrierBuilt && !platformComplete) {
             finishPlatform();
             platformComplete = true;
         }
 
-        if (!breaking && !activated && now >= activationTime) {
+        if (!breaking && !activated && ticks >= timeline.activationTick
+                && interiorAboveCleared) {
             activateDomain();
             return;
         }
 
         if (activated && !breaking) {
-            maintainStunEffects();
-            playVoidSpaceEffects();
-            preventEntitySpawning();
+            trapped.read(world);
+            stunning = true;
         }
     }
 
-    private void preventEntitySpawning() {
-        // Collect entities to remove in a separate list to avoid concurrent modification
-        Box domainBox =
-                new Box(domainCenter.getX() - DOMAIN_RADIUS, domainCenter.getY() - DOMAIN_RADIUS,
-                        domainCenter.getZ() - DOMAIN_RADIUS, domainCenter.getX() + DOMAIN_RADIUS,
-                        domainCenter.getY() + DOMAIN_RADIUS, domainCenter.getZ() + DOMAIN_RADIUS);
+    private void computeTick() {
+        if (!slices.isEmpty()) {
+            DomainPlanner.Positions positions = planner.positions();
+            for (Slice slice : slices) {
+                computeSlice(positions, slice);
+            }
+        }
+        if (stunning) {
+            trapped.plan(ticks);
+        }
+    }
 
-        // Create a list to store entities that need to be removed
-        List<LivingEntity> entitiesToRemove = new ArrayList<>();
+    private void applyTick() {
+        if (finishing) {
+            // FIRST: Teleport caster back to original position
+            caster.setPosition(originalCasterPos.x, originalCasterPos.y, originalCasterPos.z);
+        }
 
-        world.getEntitiesByClass(LivingEntity.class, domainBox, entity -> {
-            // Check if this entity is not tracked (meaning it spawned after domain activation)
-            if (!trapped.containsKey(entity.getUuid()) && entity != caster
-                    && isInsideDomain(entity.getPos())) {
-                entitiesToRemove.add(entity);
+        for (Edit edit : queued) {
+            if (edit.onlyOver != null) {
+                edits().submitRestore(this, editStats, blockEntities, edit.positions,
+                        edit.states, edit.onlyOver);
+            } else if (edit.states != null) {
+                edits().submit(this, editStats, blockEntities, edit.phase, edit.positions,
+                        edit.states);
+            } else {
+                edits().submit(this, editStats, blockEntities, edit.phase, edit.positions,
+                        edit.fill);
             }
-            return false;
-        });
-
-        // Now remove the entities after iteration is complete
-        for (LivingEntity entity : entitiesToRemove) {
-            entity.discard();
         }
-    }
+        slices.clear();
+        queued.clear();
 
-    private void buildBarrierLayer(long currentTime) {
-        long elapsed = currentTime - castStart;
-        double progress = (double) elapsed / 2000.0;
+        if (barrierDone) {
+            caster.sendMessage(Text.literal("§6Domain barrier complete..."));
+        }
+        if (activating) {
+            DomainExpansionMod.LOGGER.debug(
+                    "Domain structure complete: platform at Y={}, interior cleared", platformY);
+            trapEntitiesInDomain();
+            syncObservers();
+        }
+        if (finishing) {
+            applyFinish();
+        }
+        if (stunning) {
+            // Keep entities static in their elevated positions
+            trapped.apply();
 
-        int targetHeight = (int) (progress * (DOMAIN_RADIUS * 2 + 1)) - DOMAIN_RADIUS;
+            if (ticks % OBSERVER_SYNC_TICKS == 0) {
+                syncObservers();
+            }
+        }
+        if (breaking && !observers.isEmpty()) {
+            collapseObservers();
+        }
 
-        if (targetHeight > currentBarrierHeight) {
-            for (int x = -DOMAIN_RADIUS; x <= DOMAIN_RADIUS; x++) {
-                for (int z = -DOMAIN_RADIUS; z <= DOMAIN_RADIUS; z++) {
-                    for (int y = currentBarrierHeight; y <= Math.min(targetHeight,
-                            DOMAIN_RADIUS); y++) {
-                        double distance = Math.sqrt(x * x + y * y + z * z);
-                        if (distance >= DOMAIN_RADIUS - 1 && distance <= DOMAIN_RADIUS + 1) {
-                            BlockPos pos = domainCenter.add(x, y, z);
-                            world.setBlockState(pos, Blocks.OBSIDIAN.getDefaultState());
-                        }
-                    }
-                }
+        // The light-speed ring of the cast animation: one small payload per observer instead of
+        // a vanilla packet per particle; clients expand it with the same DomainParticles plan
+        if (effect != null) {
+            DomainPayloads.DomainParticlesPayload payload =
+                    new DomainPayloads.DomainParticlesPayload(effect.ordinal(), ticks,
+                            domainCenter, platformY, radius, particles.seed(), effectSettings());
+            for (ServerPlayerEntity player : PlayerLookup.around(world,
+                    Vec3d.ofCenter(domainCenter), effectRange())) {
+                traffic().send(player, payload);
+                metrics().add(DomainMetrics.Counter.PARTICLE_PAYLOADS, 1);
             }
-            currentBarrierHeight = Math.min(targetHeight, DOMAIN_RADIUS);
         }
     }
 
-    private void buildPlatformLayer(long currentTime) {
-        if (platformBuildStart == 0)
-            return;
+    // The Unlimited Void is drawn by each client from the activation state alone. Send it to
+    // the caster (which also starts their overlay) and to every player in range that does
+    // not have it yet.
+    private void syncObservers() {
+        DomainPayloads.DomainActivatedPayload payload = new DomainPayloads.DomainActivatedPayload(
+                caster.getUuid(), domainCenter, radius, platformY, activationTime,
+                particles.seed(), effectSettings());
+        if (observers.put(caster.getUuid(), caster) != caster) {
+            traffic().send(caster, payload);
+        }
+        for (ServerPlayerEntity player : PlayerLookup.around(world, Vec3d.ofCenter(domainCenter),
+                effectRange())) {
+            if (observers.put(player.getUuid(), player) != player) {
+                traffic().send(player, payload);
+            }
+        }
+    }
 
-        long elapsed = currentTime - platformBuildStart;
-        double progress = (double) elapsed / 1000.0; // 1 second to build platform
+    // Tell every observer still online to stop drawing the void once the barrier breaks
+    private void collapseObservers() {
+        DomainPayloads.DomainCollapsePayload payload =
+                new DomainPayloads.DomainCollapsePayload(caster.getUuid());
+        for (UUID id : observers.keySet()) {
+            ServerPlayerEntity player = world.getServer().getPlayerManager().getPlayer(id);
+            if (player != null) {
+                traffic().send(player, payload);
+            }
+        }
+        observers.clear();
+    }
 
-        double targetRadius = progress * (DOMAIN_RADIUS - 1); // Extend to barrier edge
+    // Players beyond this distance from the center get no effects at all (see the client LOD)
+    private double effectRange() {
+        return radius + DomainConfig.get().effectLodRange;
+    }
 
-        if (targetRadius > currentPlatformRadius) {
-            // Build from center outward
-            for (int x = -(int) targetRadius; x <= (int) targetRadius; x++) {
-                for (int z = -(int) targetRadius; z <= (int) targetRadius; z++) {
-                    double distance = Math.sqrt(x * x + z * z);
+    private static DomainPayloads.EffectSettings effectSettings() {
+        DomainConfig config = DomainConfig.get();
+        return new DomainPayloads.EffectSettings(config.effectLodRange,
+                config.effectReducedPercent, config.effectParticleBudget);
+    }
 
-                    // Check if this block is within the current build radius but wasn't built
-                    // before
-                    if (distance <= targetRadius && distance > currentPlatformRadius - 1
-                            && distance < DOMAIN_RADIUS) {
-                        BlockPos pos = new BlockPos(domainCenter.getX() + x, platformY,
-                                domainCenter.getZ() + z);
+    private static EffectTraffic traffic() {
+        return DomainManager.get().getEffectTraffic();
+    }
 
-                        // Skip if it's a barrier block
-                        if (originalBlocks.containsKey(pos)) {
-                            continue;
-                        }
+    private int barrierTarget(long tick) {
+        return DomainTimeline.progress(geometry.shellSize(), timeline.barrierTicks, tick);
+    }
 
-                        world.setBlockState(pos, Blocks.BLACK_CONCRETE.getDefaultState());
-                    }
-                }
-            }
-            currentPlatformRadius = Math.min(targetRadius, DOMAIN_RADIUS - 1);
-        }
-    }
-
-    private void breakBarrierAndPlatform(long currentTime) {
-        long elapsed = currentTime - breakingStartTime;
-        double progress = (double) elapsed / 3000.0;
-
-        // Break barrier from top to bottom
-        int targetHeight = DOMAIN_RADIUS - (int) (progress * (DOMAIN_RADIUS * 2 + 1));
-        if (targetHeight < currentBreakingHeight) {
-            for (int x = -DOMAIN_RADIUS; x <= DOMAIN_RADIUS; x++) {
-                for (int z = -DOMAIN_RADIUS; z <= DOMAIN_RADIUS; z++) {
-                    for (int y = currentBreakingHeight; y >= Math.max(targetHeight,
-                            -DOMAIN_RADIUS); y--) {
-                        double distance = Math.sqrt(x * x + y * y + z * z);
-                        if (distance >= DOMAIN_RADIUS - 1 && distance <= DOMAIN_RADIUS + 1) {
-                            BlockPos pos = domainCenter.add(x, y, z);
-                            if (originalBlocks.containsKey(pos)) {
-                                world.setBlockState(pos, originalBlocks.get(pos));
-                            }
-                        }
-                    }
-                }
-            }
-            currentBreakingHeight = Math.max(targetHeight, -DOMAIN_RADIUS);
-        }
+    private void buildBarrierLayer(long tick) {
+        // Record the blocks the next tick will build, so each block is on record (and in the
+        // journal) the tick before it is overwritten
+        captureShell(barrierTarget(tick + 1));
 
-        // Break platform from outside to center
-        double targetPlatformRadius = (DOMAIN_RADIUS - 1) * (1 - progress);
-
-        if (targetPlatformRadius < currentBreakingPlatformRadius) {
-            for (int x = -DOMAIN_RADIUS; x <= DOMAIN_RADIUS; x++) {
-                for (int z = -DOMAIN_RADIUS; z <= DOMAIN_RADIUS; z++) {
-                    double distance = Math.sqrt(x * x + z * z);
-
-                    // Check if this block should be removed
-                    if (distance > targetPlatformRadius
-                            && distance <= currentBreakingPlatformRadius) {
-                        BlockPos pos = new BlockPos(domainCenter.getX() + x, platformY,
-                                domainCenter.getZ() + z);
-
-                        if (originalPlatformBlocks.containsKey(pos)) {
-                            world.setBlockState(pos, originalPlatformBlocks.get(pos));
-                        }
-                    }
-                }
-            }
-            currentBreakingPlatformRadius = Math.max(targetPlatformRadius, 0);
+        // Until the planner has the position tables the wave simply catches up a tick later
+        int target = barrierTarget(tick);
+        if (target > barrierCursor && planner.positionsNow() != null) {
+            queueBarrier(target);
         }
     }
 
-    private void finishBarrier() {
-        originalBlocks.forEach((pos, originalState) -> {
-            world.setBlockState(pos, Blocks.OBSIDIAN.getDefaultState());
-        });
+    private void queueBarrier(int end) {
+        captureShell(end);
+        slices.add(new Slice(Phase.BARRIER, SnapshotJournal.TABLE_SHELL, barrierCursor, end));
+        barrierCursor = end;
+    }
 
-        caster.sendMessage(Text.literal("§6Domain barrier complete..."));
+    private int platformTarget(long tick) {
+        return DomainTimeline.progress(geometry.diskSize(), timeline.platformTicks, tick);
     }
 
-    private void finishPlatform() {
-        // Ensure all platform blocks are placed to the edge
-        for (int x = -DOMAIN_RADIUS; x <= DOMAIN_RADIUS; x++) {
-            for (int z = -DOMAIN_RADIUS; z <= DOMAIN_RADIUS; z++) {
-                double distance = Math.sqrt(x * x + z * z);
-                if (distance < DOMAIN_RADIUS) { // Extend to just before barrier
-                    BlockPos pos = new BlockPos(domainCenter.getX() + x, platformY,
-                            domainCenter.getZ() + z);
-
-                    // Skip barrier blocks
-                    if (originalBlocks.containsKey(pos)) {
-                        continue;
-                    }
+    private void buildPlatformLayer(long tick) {
+        captureDisk(platformTarget(tick + 1));
 
-                    world.setBlockState(pos, Blocks.BLACK_CONCRETE.getDefaultState());
-                }
-            }
+        int target = platformTarget(tick);
+        if (target > platformCursor && planner.positionsNow() != null) {
+            // Build from center outward: the disk is sorted by distance, so each tick's quota
+            // is the next ring-shaped slice
+            queuePlatform(target);
         }
     }
 
-    private void playLightSpeedAnimation() {
-        // Simple end rod effects during activation
-        for (int i = 0; i < 20; i++) {
-            double angle = (System.currentTimeMillis() / 20.0 + i * 18) % 360;
-            double radians = Math.toRadians(angle);
-            double radius = 15;
+    private void queuePlatform(int end) {
+        captureDisk(end);
+        slices.add(new Slice(Phase.PLATFORM, SnapshotJournal.TABLE_DISK, platformCursor, end));
+        platformCursor = end;
+    }
 
-            double x = domainCenter.getX() + Math.cos(radians) * radius;
-            double y = platformY + 5;
-            double z = domainCenter.getZ() + Math.sin(radians) * radius;
+    private void breakBarrierAndPlatform(long elapsed) {
+        // Break barrier from top to bottom; each block is queued exactly once
+        int shellStart = geometry.shellSize() - DomainTimeline.progress(geometry.shellSize(),
+                timeline.breakTicks, elapsed);
+        if (shellStart < shellRestoreEnd) {
+            slices.add(new Slice(Phase.RESTORE, SnapshotJournal.TABLE_SHELL, shellStart,
+                    shellRestoreEnd));
+            shellRestoreEnd = shellStart;
+        }
 
-            world.spawnParticles(ParticleTypes.END_ROD, x, y, z, 1, 0, 0, 0, 0.1);
+        // Break platform from outside to center
+        int platformStart = geometry.diskSize() - DomainTimeline.progress(geometry.diskSize(),
+                timeline.breakTicks, elapsed);
+        if (platformStart < platformRestoreEnd) {
+            // Slice between the new and the previous radius, walked from the outside in
+            slices.add(new Slice(Phase.RESTORE, SnapshotJournal.TABLE_DISK, platformStart,
+                    platformRestoreEnd));
+            platformRestoreEnd = platformStart;
         }
     }
 
-    private void activateDomain() {
-        activated = true;
-        domainActiveTime = System.currentTimeMillis();
-
-        setupDomainStructure();
-        trapEntitiesInDomain();
+    private void finishBarrier() {
+        // Queue whatever the animation has not reached yet
+        if (barrierCursor < geometry.shellSize()) {
+            queueBarrier(geometry.shellSize());
+        }
+        barrierDone = true;
+    }
 
-        ServerPlayNetworking.send(caster, new DomainPayloads.DomainActivatedPayload());
+    private void finishPlatform() {
+        // Ensure all platform blocks are placed to the edge (barrier ring excluded)
+        if (platformCursor < geometry.diskSize()) {
+            queuePlatform(geometry.diskSize());
+        }
     }
 
-    private void setupDomainStructure() {
-        // Platform is already built during the animation phase
+    private void activateDomain() {
+        activated = true;
+        activating = true;
+        domainActiveTick = ticks;
+        activationTime = world.getTime();
 
-        // Remove ALL blocks in the entire domain interior except barrier and platform
-        for (int x = -DOMAIN_RADIUS + 1; x <= DOMAIN_RADIUS - 1; x++) {
-            for (int y = -DOMAIN_RADIUS + 1; y <= DOMAIN_RADIUS - 1; y++) {
-                for (int z = -DOMAIN_RADIUS + 1; z <= DOMAIN_RADIUS - 1; z++) {
-                    double distance = Math.sqrt(x * x + y * y + z * z);
-
-                    // Inside the sphere and not part of barrier
-                    if (distance < DOMAIN_RADIUS - 1) {
-                        BlockPos pos = domainCenter.add(x, y, z);
-
-                        // Skip platform level
-                        if (pos.getY() == platformY) {
-                            continue;
-                        }
-
-                        // Skip if it's already stored as original block (barrier)
-                        if (originalBlocks.containsKey(pos)) {
-                            continue;
-                        }
-
-                        BlockState original = world.getBlockState(pos);
-                        if (!original.isAir()) {
-                            originalUpperBlocks.put(pos, original);
-                            world.setBlockState(pos, Blocks.AIR.getDefaultState());
-                        }
-                    }
-                }
-            }
-        }
+        // Platform is already built during the animation phase
 
-        System.out.println(
-                "Domain structure complete: platform at Y=" + platformY + ", interior cleared");
+        // The interior (all of the ball except barrier and platform) is being cleared by
+        // clearInteriorStep, which holds activation back until the space above the platform is
+        // air. The part below is still being cleared. Entities are trapped on apply.
     }
 
     private void trapEntitiesInDomain() {
-        Box area = new Box(domainCenter.getX() - DOMAIN_RADIUS, platformY - DOMAIN_RADIUS,
-                domainCenter.getZ() - DOMAIN_RADIUS, domainCenter.getX() + DOMAIN_RADIUS,
-                platformY + DOMAIN_RADIUS, domainCenter.getZ() + DOMAIN_RADIUS);
+        Box area = new Box(domainCenter.getX() - radius, platformY - radius,
+                domainCenter.getZ() - radius, domainCenter.getX() + radius,
+                platformY + radius, domainCenter.getZ() + radius);
 
         // Teleport entities so their feet are on the platform
         double platformLevel = platformY + 1; // +1 so they stand ON the platform, not in it
@@ -409,231 +774,132 @@ public class Domain {
         world.getEntitiesByClass(LivingEntity.class, area, e -> e != caster).forEach(e -> {
             Vec3d entityPos = e.getPos();
 
-            if (isInsideDomain(entityPos)) {
-                trapped.put(e.getUuid(), entityPos);
+            if (isInsideDomain(entityPos.x, entityPos.y, entityPos.z)) {
+                // Records the original position and AI flag, and freezes mobs
+                int index = trapped.add(e);
 
                 // Teleport with feet on platform
                 e.setPosition(entityPos.x, platformLevel, entityPos.z);
 
-                if (e instanceof MobEntity mob) {
-                    NbtCompound nbt = new NbtCompound();
-                    mob.writeNbt(nbt);
-                    originalAI.put(e.getUuid(), !nbt.getBoolean("NoAI"));
-                    nbt.putBoolean("NoAI", true);
-                    mob.readNbt(nbt);
-                }
-
                 // Apply complete stun
-                e.addStatusEffect(
-                        new StatusEffectInstance(StatusEffects.SLOWNESS, 40, 255, false, false));
-                e.addStatusEffect(
-                        new StatusEffectInstance(StatusEffects.WEAKNESS, 40, 255, false, false));
-                e.addStatusEffect(new StatusEffectInstance(StatusEffects.MINING_FATIGUE, 40, 255,
-                        false, false));
-                e.addStatusEffect(
-                        new StatusEffectInstance(StatusEffects.BLINDNESS, 40, 0, false, false));
+                trapped.stun(e, index, ticks);
                 e.setVelocity(0, 0, 0);
                 e.velocityModified = true;
             }
         });
 
-        System.out.println(
-                "Trapped " + trapped.size() + " entities on platform at Y=" + platformLevel);
-    }
-
-    private void maintainStunEffects() {
-        // Keep entities static in their elevated positions
-        trapped.keySet().forEach(id -> {
-            Entity ent = world.getEntity(id);
-            if (ent instanceof LivingEntity e) {
-                e.addStatusEffect(
-                        new StatusEffectInstance(StatusEffects.SLOWNESS, 10, 255, false, false));
-                e.addStatusEffect(
-                        new StatusEffectInstance(StatusEffects.WEAKNESS, 10, 255, false, false));
-                e.addStatusEffect(new StatusEffectInstance(StatusEffects.MINING_FATIGUE, 10, 255,
-                        false, false));
-                e.addStatusEffect(
-                        new StatusEffectInstance(StatusEffects.BLINDNESS, 10, 0, false, false));
-                e.setVelocity(0, 0, 0);
-                e.velocityModified = true;
-
-                if (e instanceof MobEntity mob) {
-                    NbtCompound nbt = new NbtCompound();
-                    mob.writeNbt(nbt);
-                    nbt.putBoolean("NoAI", true);
-                    mob.readNbt(nbt);
-                }
-            }
-        });
+        metrics().add(DomainMetrics.Counter.ENTITIES_TRAPPED, trapped.size());
+        DomainExpansionMod.LOGGER.debug("Trapped {} entities on platform at Y={}",
+                trapped.size(), platformLevel);
     }
 
-    private void playVoidSpaceEffects() {
-        // Moon orbit calculation
-        double orbitTime = System.currentTimeMillis() / 3000.0; // Complete orbit every 3 seconds
-        double orbitAngle = orbitTime * 2 * Math.PI;
-        double orbitRadius = DOMAIN_RADIUS * 0.6;
-
-        // Moon position with orbit
-        double moonX = domainCenter.getX() + Math.cos(orbitAngle) * orbitRadius;
-        double moonY = platformY + 10; // Fixed height
-        double moonZ = domainCenter.getZ() + Math.sin(orbitAngle) * orbitRadius;
-
-        // Pulsating moon effect
-        double pulseTime = System.currentTimeMillis() / 1000.0;
-        double pulseIntensity = 0.5 + 0.5 * Math.sin(pulseTime * Math.PI); // Oscillates between 0
-                                                                           // and 1
-        int particleCount = (int) (30 + 20 * pulseIntensity); // Between 30 and 50 particles
-
-        // Create hollow pulsating moon using end rod particles
-        for (int i = 0; i < particleCount; i++) {
-            double theta = Math.random() * Math.PI * 2;
-            double phi = Math.acos(2 * Math.random() - 1);
-            double r = 3; // Moon radius
-
-            // Create hollow sphere by only placing particles on the surface
-            double x = moonX + r * Math.sin(phi) * Math.cos(theta);
-            double y = moonY + r * Math.sin(phi) * Math.sin(theta);
-            double z = moonZ + r * Math.cos(phi);
-
-            // Check distance from moon center to ensure hollow effect
-            double distFromCenter = Math.sqrt((x - moonX) * (x - moonX) + (y - moonY) * (y - moonY)
-                    + (z - moonZ) * (z - moonZ));
-
-            // Only place particles on the surface (between radius 2.5 and 3)
-            if (distFromCenter >= 2.5 && distFromCenter <= 3) {
-                world.spawnParticles(ParticleTypes.END_ROD, x, y, z, 1, 0, 0, 0, 0);
-            }
-        }
-
-        // Stars on the ceiling (upper part of the sphere)
-        for (int i = 0; i < 200; i++) {
-            double angle = Math.random() * 360;
-            double radians = Math.toRadians(angle);
-
-            // Generate positions in upper hemisphere only
-            double heightFactor = 0.3 + Math.random() * 0.7; // Between 30% and 100% of radius
-            double y = domainCenter.getY() + DOMAIN_RADIUS * heightFactor;
-
-            // Calculate horizontal distance based on height
-            double maxHorizontalRadius = Math.sqrt(DOMAIN_RADIUS * DOMAIN_RADIUS
-                    - (y - domainCenter.getY()) * (y - domainCenter.getY())) - 2;
-            double horizontalRadius = Math.random() * maxHorizontalRadius;
-
-            double x = domainCenter.getX() + Math.cos(radians) * horizontalRadius;
-            double z = domainCenter.getZ() + Math.sin(radians) * horizontalRadius;
-
-            // Small chance for each star to appear
-            if (Math.random() < 0.3) {
-                world.spawnParticles(ParticleTypes.END_ROD, x, y, z, 1, 0, 0, 0, 0);
-            }
+    // Turn one table range into edit batches; reads nothing but the snapshots and tables
+    private void computeSlice(DomainPlanner.Positions positions, Slice slice) {
+        switch (slice.phase) {
+            case BARRIER -> queued.add(new Edit(Phase.BARRIER,
+                    positions.shell(slice.start, slice.end), Blocks.OBSIDIAN.getDefaultState()));
+            case PLATFORM -> queued.add(new Edit(Phase.PLATFORM,
+                    positions.platform(slice.start, slice.end),
+                    Blocks.BLACK_CONCRETE.getDefaultState()));
+            case INTERIOR -> clearInterior(positions.interior, slice.start, slice.end);
+            case RESTORE -> queued.add(restoreEdit(snapshot(slice.table),
+                    table(positions, slice.table), slice.start, slice.end, slice.onlyOver));
         }
+    }
 
-        // End portal effects on black concrete surface (decorative only)
-        for (int i = 0; i < 100; i++) {
-            double x = domainCenter.getX() + (Math.random() - 0.5) * (DOMAIN_RADIUS * 2 - 4);
-            double z = domainCenter.getZ() + (Math.random() - 0.5) * (DOMAIN_RADIUS * 2 - 4);
-            double y = platformY + 0.5; // Just above the platform
-
-            // Check if position is within platform bounds
-            double distance = Math.sqrt((x - domainCenter.getX()) * (x - domainCenter.getX())
-                    + (z - domainCenter.getZ()) * (z - domainCenter.getZ()));
-            if (distance < DOMAIN_RADIUS - 1) {
-                world.spawnParticles(ParticleTypes.PORTAL, x, y, z, 1, 0.1, 0, 0.1, 0);
-            }
-        }
-
-        // End rod particles near the barrier walls
-        for (int i = 0; i < 50; i++) {
-            double angle = Math.random() * 360;
-            double radians = Math.toRadians(angle);
-            double height = platformY + Math.random() * (DOMAIN_RADIUS * 2) - DOMAIN_RADIUS;
-
-            // Place near the inner surface of the barrier
-            double x = domainCenter.getX() + Math.cos(radians) * (DOMAIN_RADIUS - 2);
-            double z = domainCenter.getZ() + Math.sin(radians) * (DOMAIN_RADIUS - 2);
-
-            world.spawnParticles(ParticleTypes.END_ROD, x, height, z, 1, 0, 0, 0, 0);
+    // Air over the captured blocks of one interior slice
+    private void clearInterior(long[] interior, int start, int end) {
+        LongArrayList positions = new LongArrayList();
+        for (int i = originalUpperBlocks.nextCaptured(start); i >= 0 && i < end;
+                i = originalUpperBlocks.nextCaptured(i + 1)) {
+            positions.add(interior[i]);
         }
+        queued.add(new Edit(Phase.INTERIOR, positions.toLongArray(),
+                Blocks.AIR.getDefaultState()));
+    }
 
-        // White smoke concentrated near obsidian walls
-        for (int i = 0; i < 40; i++) {
-            double angle = Math.random() * 360;
-            double radians = Math.toRadians(angle);
-            double verticalOffset = (Math.random() - 0.5) * DOMAIN_RADIUS;
-
-            // Place very close to inner obsidian surface
-            double distanceFromCenter = DOMAIN_RADIUS - 1 - Math.random() * 0.5;
-            double x = domainCenter.getX() + Math.cos(radians) * distanceFromCenter;
-            double y = platformY + verticalOffset;
-            double z = domainCenter.getZ() + Math.sin(radians) * distanceFromCenter;
+    private BlockSnapshot snapshot(int table) {
+        return table == SnapshotJournal.TABLE_SHELL ? originalBlocks
+                : table == SnapshotJournal.TABLE_DISK ? originalPlatformBlocks
+                        : originalUpperBlocks;
+    }
 
-            world.spawnParticles(ParticleTypes.SMOKE, x, y, z, 1, 0.1, 0.1, 0.1, 0);
-        }
+    private static long[] table(DomainPlanner.Positions positions, int table) {
+        return table == SnapshotJournal.TABLE_SHELL ? positions.shell
+                : table == SnapshotJournal.TABLE_DISK ? positions.disk : positions.interior;
     }
 
     private void finish() {
-        // FIRST: Teleport caster back to original position
-        caster.setPosition(originalCasterPos.x, originalCasterPos.y, originalCasterPos.z);
+        // Restore everything the break animation has not reached: upper half blocks first,
+        // then the platform, then whatever barrier is left
+        // The interior slice captured for the next step was never cleared, so it is left out:
+        // its blocks may have been mined since
+        slices.add(new Slice(Phase.RESTORE, SnapshotJournal.TABLE_INTERIOR, interiorPendingEnd,
+                geometry.interiorSize()));
+        slices.add(new Slice(Phase.RESTORE, SnapshotJournal.TABLE_INTERIOR, 0,
+                interiorPendingStart));
+        slices.add(new Slice(Phase.RESTORE, SnapshotJournal.TABLE_DISK, 0, platformRestoreEnd));
+
+        // Barrier blocks that are no longer obsidian were changed by someone else and stay.
+        // That is checked as each block is written: barrier waves may still be queued now, and
+        // they drain before any restore.
+        slices.add(new Slice(Phase.RESTORE, SnapshotJournal.TABLE_SHELL, 0, shellRestoreEnd,
+                Blocks.OBSIDIAN));
+        finishing = true;
+    }
 
-        // THEN: Restore everything else
-        restoreAllBlocks();
+    private void applyFinish() {
+        DomainExpansionMod.LOGGER.debug("Restoring {} blocks", originalBlocks.capturedCount()
+                + originalUpperBlocks.capturedCount() + originalPlatformBlocks.capturedCount());
         restoreEntities();
 
         // Send deactivation packet to client
         ServerPlayNetworking.send(caster, new DomainPayloads.DomainDeactivatedPayload());
 
         caster.addStatusEffect(new StatusEffectInstance(StatusEffects.MINING_FATIGUE,
-                COOLDOWN_TICKS, 0, false, true, true));
+                cooldownTicks, 0, false, true, true));
 
         caster.sendMessage(Text
-                .literal("§cDomain Expansion ended. You feel exhausted... (2 minutes cooldown)"));
-        finished = true;
+                .literal("§cDomain Expansion ended. You feel exhausted... ("
+                        + cooldownTicks / DomainTimeline.TICKS_PER_SECOND + "s cooldown)"));
+        restoring = true;
     }
 
-    private void restoreAllBlocks() {
-        // Restore upper half blocks first
-        originalUpperBlocks.forEach((pos, originalState) -> {
-            world.setBlockState(pos, originalState);
-        });
-
-        // Restore platform blocks
-        originalPlatformBlocks.forEach((pos, originalState) -> {
-            world.setBlockState(pos, originalState);
-        });
-
-        // Restore remaining barrier blocks (if any left)
-        originalBlocks.forEach((pos, originalState) -> {
-            if (world.getBlockState(pos).getBlock() == Blocks.OBSIDIAN) {
-                world.setBlockState(pos, originalState);
-            }
-        });
+    // The captured states of table indices [start, end), highest index first, written only
+    // over `onlyOver` if given. Restore edits share one phase, so they drain in the order they
+    // are submitted. Only captured entries are visited, so the cost follows the changed
+    // volume, not the table size.
+    static Edit restoreEdit(BlockSnapshot snapshot, long[] table, int start, int end,
+            Block onlyOver) {
+        int count = 0;
+        for (int i = snapshot.previousCaptured(end - 1); i >= start;
+                i = snapshot.previousCaptured(i - 1)) {
+            count++;
+        }
 
-        System.out.println("Restored " + (originalBlocks.size() + originalUpperBlocks.size()
-                + originalPlatformBlocks.size()) + " blocks");
+        long[] positions = new long[count];
+        BlockState[] states = new BlockState[count];
+        int n = 0;
+        for (int i = snapshot.previousCaptured(end - 1); i >= start && n < count;
+                i = snapshot.previousCaptured(i - 1)) {
+            positions[n] = table[i];
+            states[n++] = snapshot.get(i);
+        }
+        return new Edit(Phase.RESTORE, positions, states, onlyOver);
     }
 
     private void restoreEntities() {
         // Note: Caster is already restored in finish() method
 
-        trapped.forEach((id, pos) -> {
-            Entity ent = world.getEntity(id);
-            if (ent instanceof LivingEntity e) {
-                e.removeStatusEffect(StatusEffects.SLOWNESS);
-                e.removeStatusEffect(StatusEffects.WEAKNESS);
-                e.removeStatusEffect(StatusEffects.MINING_FATIGUE);
-                e.removeStatusEffect(StatusEffects.BLINDNESS);
-
-                if (e instanceof MobEntity mob && originalAI.containsKey(id)) {
-                    NbtCompound nbt = new NbtCompound();
-                    mob.writeNbt(nbt);
-                    nbt.putBoolean("NoAI", !originalAI.get(id));
-                    mob.readNbt(nbt);
-                }
-
-                e.setPosition(pos.x, pos.y, pos.z);
+        for (int i = 0; i < trapped.size(); i++) {
+            LivingEntity e = trapped.get(world, i);
+            if (e != null) {
+                // Stun effects off, original AI flag and position back
+                trapped.release(e, i);
             }
-        });
+        }
 
-        System.out.println("Restored " + trapped.size() + " entities to original positions");
+        DomainExpansionMod.LOGGER.debug("Restored {} entities to original positions",
+                trapped.size());
     }
 }
@@ -0,0 +1,76 @@
+// src/main/java/com/example/infinitevoid/DomainChunks.java
+package com.example.infinitevoid;
+
+import java.util.Comparator;
+import net.minecraft.server.world.ChunkTicketType;
+import net.minecraft.server.world.ServerChunkManager;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+
+// Chunk tickets over every chunk a domain touches, held from the cast until its restore has
+// drained. The chunk system loads ticketed chunks off the main thread, so the cast waits for
+// its footprint before building (see CastPreparation); afterwards no block read or edit of the
+// domain can force a synchronous load, and a restore can never land in an unloaded chunk, even
+// after the caster left. Tickets are at full-chunk level only: the area stays loaded but does
+// not tick, so WorldDomains keeps ticking a breaking domain itself until it releases them.
+public class DomainChunks {
+    private static final ChunkTicketType<ChunkPos> TICKET =
+            ChunkTicketType.create("infinitevoid_domain",
+                    Comparator.comparingLong(ChunkPos::toLong));
+
+    private final ServerWorld world;
+    private final ChunkPos[] chunks;
+    private boolean held = false;
+
+    // Every chunk within `reach` blocks (on x and z) of the center
+    public DomainChunks(ServerWorld world, BlockPos center, int reach) {
+        this.world = world;
+        int minX = (center.getX() - reach) >> 4, maxX = (center.getX() + reach) >> 4;
+        int minZ = (center.getZ() - reach) >> 4, maxZ = (center.getZ() + reach) >> 4;
+        this.chunks = new ChunkPos[(maxX - minX + 1) * (maxZ - minZ + 1)];
+        int n = 0;
+        for (int x = minX; x <= maxX; x++) {
+            for (int z = minZ; z <= maxZ; z++) {
+                chunks[n++] = new ChunkPos(x, z);
+            }
+        }
+    }
+
+    public void acquire() {
+        if (held) {
+            return;
+        }
+        ServerChunkManager chunkManager = world.getChunkManager();
+        for (ChunkPos chunk : chunks) {
+            chunkManager.addTicket(TICKET, chunk, 0, chunk);
+        }
+        held = true;
+    }
+
+    public void release() {
+        if (!held) {
+            return;
+        }
+        ServerChunkManager chunkManager = world.getChunkManager();
+        for (ChunkPos chunk : chunks) {
+            chunkManager.removeTicket(TICKET, chunk, 0, chunk);
+        }
+        held = false;
+    }
+
+    // Whether every chunk of the footprint is loaded to full status
+    public boolean allLoaded() {
+        ServerChunkManager chunkManager = world.getChunkManager();
+        for (ChunkPos chunk : chunks) {
+            if (!chunkManager.isChunkLoaded(chunk.x, chunk.z)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int size() {
+        return chunks.length;
+    }
+}
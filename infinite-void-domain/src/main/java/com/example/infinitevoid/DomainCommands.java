@@ -0,0 +1,85 @@
+// src/main/java/com/example/infinitevoid/DomainCommands.java
+package com.example.infinitevoid;
+
+import java.util.Locale;
+import com.mojang.brigadier.CommandDispatcher;
+import net.minecraft.server.command.CommandManager;
+import net.minecraft.server.command.ServerCommandSource;
+import net.minecraft.text.Text;
+
+// /domain stats: the current metrics window and every live domain. /domain stats reset starts a
+// new window without dumping the old one. /domain reload rereads the config; domains already
+// up keep the size and timings they were cast with.
+public class DomainCommands {
+    public static void register(CommandDispatcher<ServerCommandSource> dispatcher) {
+        dispatcher.register(CommandManager.literal("domain")
+                .requires(source -> source.hasPermissionLevel(2))
+                .then(CommandManager.literal("stats")
+                        .executes(context -> stats(context.getSource()))
+                        .then(CommandManager.literal("reset").executes(context -> {
+                            DomainManager.get().getMetrics()
+                                    .reset(context.getSource().getServer());
+                            context.getSource().sendFeedback(
+                                    () -> Text.literal("Domain metrics reset"), true);
+                            return 1;
+                        })))
+                .then(CommandManager.literal("reload").executes(context -> {
+                    DomainConfig.load();
+                    context.getSource().sendFeedback(() -> Text.literal(
+                            "Domain config reloaded, radius " + DomainConfig.get().domainRadius),
+                            true);
+                    return 1;
+                })));
+    }
+
+    private static int stats(ServerCommandSource source) {
+        DomainManager manager = DomainManager.get();
+        DomainMetrics.Sample s = manager.getMetrics().sample(source.getServer());
+
+        feedback(source, String.format(Locale.ROOT,
+                "§dDomains§r: %d active, %d preparing, %.1f KB snapshots, %.2f mspt, "
+                        + "last %d ticks",
+                s.activeDomains, manager.getPreparingCount(), s.snapshotBytes / 1024.0, s.mspt,
+                s.windowTicks));
+        for (DomainMetrics.Timer timer : DomainMetrics.Timer.values()) {
+            feedback(source, String.format(Locale.ROOT, "  %s: %d calls, %.1f us mean, %.1f us max",
+                    timer.name().toLowerCase(Locale.ROOT), s.count[timer.ordinal()],
+                    s.meanMicros(timer), s.maxMicros(timer)));
+        }
+        feedback(source, String.format(Locale.ROOT,
+                "  blocks %d written / %d skipped, %d entities trapped",
+                s.get(DomainMetrics.Counter.BLOCKS_WRITTEN),
+                s.get(DomainMetrics.Counter.BLOCKS_SKIPPED),
+                s.get(DomainMetrics.Counter.ENTITIES_TRAPPED)));
+        feedback(source, String.format(Locale.ROOT, "  interior reads %d blocks / %d sections",
+                s.get(DomainMetrics.Counter.INTERIOR_BLOCK_READS),
+                s.get(DomainMetrics.Counter.INTERIOR_SECTION_READS)));
+        feedback(source, String.format(Locale.ROOT,
+                "  effects %d packets / %d B, %d particle payloads",
+                s.get(DomainMetrics.Counter.EFFECT_PACKETS),
+                s.get(DomainMetrics.Counter.EFFECT_BYTES),
+                s.get(DomainMetrics.Counter.PARTICLE_PAYLOADS)));
+        s.effectTraffic.forEach((name, totals) -> feedback(source, String.format(Locale.ROOT,
+                "    %s: %d packets / %d B", name, totals[1], totals[0])));
+        feedback(source, "  finished domains: " + s.finishedEdits);
+
+        for (Domain d : manager.getDomains()) {
+            feedback(source, String.format(Locale.ROOT,
+                    "§6%s§r %s at %s, tick %d, %.1f/%.1f/%.1f us read/compute/apply, %.1f KB",
+                    d.getCaster().getName().getString(), d.getStateName(),
+                    d.getCenter().toShortString(), d.getTicks(),
+                    d.meanPhaseMicros(DomainMetrics.Timer.READ),
+                    d.meanPhaseMicros(DomainMetrics.Timer.COMPUTE),
+                    d.meanPhaseMicros(DomainMetrics.Timer.APPLY),
+                    d.getSnapshotBytes() / 1024.0));
+            feedback(source, "  " + d.getEditStats() + ", interior reads "
+                    + d.getInteriorBlockReads() + " blocks / " + d.getInteriorSectionReads()
+                    + " sections");
+        }
+        return 1;
+    }
+
+    private static void feedback(ServerCommandSource source, String line) {
+        source.sendFeedback(() -> Text.literal(line), false);
+    }
+}
@@ -0,0 +1,156 @@
+// src/main/java/com/example/infinitevoid/DomainConfig.java
+package com.example.infinitevoid;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+import net.fabricmc.loader.api.FabricLoader;
+
+public class DomainConfig {
+    private static final String FILE_NAME = "infinitevoid.properties";
+
+    // Replaced by /domain reload while compute workers may be reading it
+    private static volatile DomainConfig INSTANCE = new DomainConfig(new Properties());
+
+    public static DomainConfig get() {
+        return INSTANCE;
+    }
+
+    // Domain size and timings, read once per cast. Phases that would queue more edits per tick
+    // than the budget below are stretched (see DomainTimeline.forCast).
+    public final int domainRadius;
+    public final int barrierTicks;
+    public final int platformTicks;
+    public final int breakTicks;
+    public final int cooldownTicks;
+    // An active domain whose center chunk stops ticking breaks after this many ticks asleep
+    public final int sleepTimeoutTicks;
+    // Casts being prepared at once (see CastPreparation); casts beyond this are turned down
+    public final int maxCastPreparations;
+    // Block edit budget per server tick, shared by all domains of a world
+    public final int maxBlockEditsPerTick;
+    public final long maxBlockEditNanosPerTick;
+    // Worker threads for the compute phase of the domain tick; 1 keeps it on the tick thread
+    public final int tickThreads;
+    // Domain effects: full density inside the barrier, reduced density up to lodRange blocks
+    // outside it and nothing beyond; each client draws at most particleBudget per tick. Sent to
+    // clients with every effect payload (see DomainPayloads.EffectSettings).
+    public final int effectLodRange;
+    public final int effectReducedPercent;
+    public final int effectParticleBudget;
+    // Seconds per metrics window, and how each closed window is dumped: csv, json or none
+    public final int metricsDumpSeconds;
+    public final String metricsFormat;
+
+    private DomainConfig(Properties props) {
+        this.domainRadius = readRadius(props);
+        this.barrierTicks = readInt(props, "domain.barrierTicks", DomainTimeline.BARRIER_TICKS);
+        this.platformTicks =
+                readInt(props, "domain.platformTicks", DomainTimeline.PLATFORM_TICKS);
+        this.breakTicks = readInt(props, "domain.breakTicks", DomainTimeline.BREAK_TICKS);
+        this.cooldownTicks = readInt(props, "domain.cooldownTicks", 2400);
+        this.sleepTimeoutTicks = readInt(props, "domain.sleepTimeoutTicks", 6000);
+        this.maxCastPreparations = readInt(props, "cast.maxPreparations", 4);
+        this.maxBlockEditsPerTick = readInt(props, "blockEdits.maxPerTick", 4096);
+        this.maxBlockEditNanosPerTick =
+                readInt(props, "blockEdits.maxMicrosPerTick", 2_000) * 1_000L;
+        this.tickThreads = readInt(props, "tick.threads",
+                Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2)));
+        this.effectLodRange = readInt(props, "effects.lodRange", 32);
+        this.effectReducedPercent =
+                Math.min(100, readInt(props, "effects.reducedDensityPercent", 25));
+        this.effectParticleBudget = readInt(props, "effects.particleBudget", 600);
+        this.metricsDumpSeconds = readInt(props, "metrics.dumpSeconds", 60);
+        this.metricsFormat = readChoice(props, "metrics.format", "csv", "csv", "json", "none");
+    }
+
+    public static void load() {
+        Path path = FabricLoader.getInstance().getConfigDir().resolve(FILE_NAME);
+        Properties props = new Properties();
+
+        if (Files.exists(path)) {
+            try (Reader reader = Files.newBufferedReader(path)) {
+                props.load(reader);
+            } catch (IOException e) {
+                DomainExpansionMod.LOGGER.warn("Failed to read {}, using defaults", path, e);
+            }
+        }
+
+        DomainConfig config = new DomainConfig(props);
+        INSTANCE = config;
+
+        // Write back so new keys show up with their defaults
+        config.save(path);
+    }
+
+    private void save(Path path) {
+        Properties props = new Properties();
+        props.setProperty("domain.radius", Integer.toString(domainRadius));
+        props.setProperty("domain.barrierTicks", Integer.toString(barrierTicks));
+        props.setProperty("domain.platformTicks", Integer.toString(platformTicks));
+        props.setProperty("domain.breakTicks", Integer.toString(breakTicks));
+        props.setProperty("domain.cooldownTicks", Integer.toString(cooldownTicks));
+        props.setProperty("domain.sleepTimeoutTicks", Integer.toString(sleepTimeoutTicks));
+        props.setProperty("cast.maxPreparations", Integer.toString(maxCastPreparations));
+        props.setProperty("blockEdits.maxPerTick", Integer.toString(maxBlockEditsPerTick));
+        props.setProperty("blockEdits.maxMicrosPerTick",
+                Long.toString(maxBlockEditNanosPerTick / 1_000L));
+        props.setProperty("tick.threads", Integer.toString(tickThreads));
+        props.setProperty("effects.lodRange", Integer.toString(effectLodRange));
+        props.setProperty("effects.reducedDensityPercent",
+                Integer.toString(effectReducedPercent));
+        props.setProperty("effects.particleBudget", Integer.toString(effectParticleBudget));
+        props.setProperty("metrics.dumpSeconds", Integer.toString(metricsDumpSeconds));
+        props.setProperty("metrics.format", metricsFormat);
+
+        try (Writer writer = Files.newBufferedWriter(path)) {
+            props.store(writer, "Infinite Void Domain settings");
+        } catch (IOException e) {
+            DomainExpansionMod.LOGGER.warn("Failed to write {}", path, e);
+        }
+    }
+
+    // Kept within the radii the domain was verified and benchmarked for
+    private static int readRadius(Properties props) {
+        int radius = readInt(props, "domain.radius", 25);
+        if (radius > DomainGeometry.MAX_CAST_RADIUS) {
+            DomainExpansionMod.LOGGER.warn(
+                    "domain.radius {} is above the supported maximum of {}, using {}", radius,
+                    DomainGeometry.MAX_CAST_RADIUS, DomainGeometry.MAX_CAST_RADIUS);
+            return DomainGeometry.MAX_CAST_RADIUS;
+        }
+        return Math.max(DomainGeometry.MIN_RADIUS, radius);
+    }
+
+    private static int readInt(Properties props, String key, int fallback) {
+        String value = props.getProperty(key);
+        if (value == null) {
+            return fallback;
+        }
+        try {
+            return Math.max(1, Integer.parseInt(value.trim()));
+        } catch (NumberFormatException e) {
+            DomainExpansionMod.LOGGER.warn("Invalid value for {}: {}", key, value);
+            return fallback;
+        }
+    }
+
+    // One of the given choices, ignoring case; anything else falls back to the default
+    private static String readChoice(Properties props, String key, String fallback,
+            String... choices) {
+        String value = props.getProperty(key);
+        if (value == null) {
+            return fallback;
+        }
+        for (String choice : choices) {
+            if (choice.equalsIgnoreCase(value.trim())) {
+                return choice;
+            }
+        }
+        DomainExpansionMod.LOGGER.warn("Invalid value for {}: {}", key, value);
+        return fallback;
+    }
+}
@@ -3,17 +3,54 @@ package com.example.infinitevoid;
 
 import com.example.infinitevoid.network.NetworkHandler;
 import net.fabricmc.api.ModInitializer;
+import net.fabricmc.fabric.api.command.v2.CommandRegistrationCallback;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerEntityEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class DomainExpansionMod implements ModInitializer {
+    public static final String MOD_ID = "infinitevoid";
+    public static final Logger LOGGER = LoggerFactory.getLogger(MOD_ID);
+
     @Override
     public void onInitialize() {
         // register networking - IMPORTANT: Register C2S packets here
         NetworkHandler.registerC2SPackets();
+        NetworkHandler.registerS2CPayloadTypes();
+
+        // tick each world's domains with that world
+        ServerTickEvents.END_WORLD_TICK.register(world -> {
+            DomainManager.get().tickWorld(world);
+        });
+
+        // metrics dumps
+        ServerTickEvents.END_SERVER_TICK.register(server -> {
+            DomainManager.get().onServerTick(server);
+        });
+
+        // keep late spawns out of active domains
+        ServerEntityEvents.ENTITY_LOAD.register((entity, world) -> {
+            DomainManager.get().onEntityLoad(entity, world);
+        });
+
+        // /domain stats
+        CommandRegistrationCallback.EVENT.register((dispatcher, registryAccess, environment) -> {
+            DomainCommands.register(dispatcher);
+        });
 
-        // register server tick for domain manager
-        ServerTickEvents.END_SERVER_TICK.register(world -> {
-            DomainManager.get().tick();
+        // the settings are the server's; clients get what they need with each effect payload
+        ServerLifecycleEvents.SERVER_STARTING.register(server -> {
+            DomainConfig.load();
+        });
+
+        // crash-safe snapshots: replay unfinished domains on start, close journals on stop
+        ServerLifecycleEvents.SERVER_STARTED.register(server -> {
+            DomainManager.get().onServerStarted(server);
+        });
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> {
+            DomainManager.get().onServerStopped();
         });
     }
 }
\ No newline at end of file
@@ -0,0 +1,225 @@
+// src/main/java/com/example/infinitevoid/DomainGeometry.java
+package com.example.infinitevoid;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+
+// Immutable offset tables for a domain of a given radius, shared by every domain of that size.
+// Offsets are relative to the domain center and packed into one int (10 bits per axis), so the
+// build/break phases walk a slice of a precomputed array instead of rescanning the whole cube.
+public final class DomainGeometry {
+    private static final Map<Integer, DomainGeometry> CACHE = new ConcurrentHashMap<>();
+
+    private static final int BITS = 10;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final int BIAS = 1 << (BITS - 1);
+
+    public static final int MIN_RADIUS = 2;
+    // The shell reaches R+1, which still has to fit the packed offset range
+    public static final int MAX_RADIUS = BIAS - 2;
+    // Largest radius a cast may use: the range the tables were checked against the old cube
+    // scans for and that RadiusBenchmark covers. Larger radii fit the packing but are untested.
+    public static final int MAX_CAST_RADIUS = 80;
+
+    private final int radius;
+
+    // Barrier shell: R-1 <= d <= R+1 inside the [-R, R] cube, sorted by Y
+    private final int[] shell;
+    // shellLayerStart[y + R] is the first shell index of layer y; one extra entry at the end
+    private final int[] shellLayerStart;
+
+    // Platform disk: planar d < R, sorted by planar distance
+    private final int[] disk;
+    private final int[] diskDistanceSq;
+    // Disk offsets that are also part of the barrier shell ring at platform level
+    private final boolean[] diskInShell;
+
+    // Interior ball: d < R-1, excluding the platform level, sorted by Y
+    private final int[] interior;
+    // First interior index above the platform level
+    private final int interiorAboveStart;
+
+    public static DomainGeometry forRadius(int radius) {
+        return CACHE.computeIfAbsent(radius, DomainGeometry::new);
+    }
+
+    // Uncached; forRadius shares one per radius
+    DomainGeometry(int radius) {
+        if (radius < MIN_RADIUS || radius > MAX_RADIUS) {
+            throw new IllegalArgumentException("Unsupported domain radius: " + radius);
+        }
+        this.radius = radius;
+
+        int innerSq = (radius - 1) * (radius - 1);
+        int outerSq = (radius + 1) * (radius + 1);
+        int diskSq = radius * radius;
+
+        // Shell, layer by layer (the outer loop on Y keeps it sorted). Each (y, x) row is
+        // solved for its z range instead of scanning the cube, so building the table costs
+        // O(R^2) rows plus its own size.
+        IntArrayList shellBuf = new IntArrayList();
+        this.shellLayerStart = new int[2 * radius + 2];
+        for (int y = -radius; y <= radius; y++) {
+            shellLayerStart[y + radius] = shellBuf.size();
+            for (int x = -radius; x <= radius; x++) {
+                int rowSq = x * x + y * y;
+                if (rowSq > outerSq) {
+                    continue;
+                }
+                int zMax = Math.min(radius, floorSqrt(outerSq - rowSq));
+                int zMin = rowSq >= innerSq ? 0 : floorSqrt(innerSq - rowSq - 1) + 1;
+                if (zMin > zMax) {
+                    continue;
+                }
+                // z ascending: the negative half, then the positive half (joined if zMin is 0)
+                for (int z = -zMax; z <= -zMin; z++) {
+                    shellBuf.add(pack(x, y, z));
+                }
+                for (int z = Math.max(zMin, 1); z <= zMax; z++) {
+                    shellBuf.add(pack(x, y, z));
+                }
+            }
+        }
+        shellLayerStart[2 * radius + 1] = shellBuf.size();
+        this.shell = shellBuf.toIntArray();
+
+        // Platform disk, sorted by planar distance (distance in the high bits of the sort key)
+        long[] diskBuf = new long[(2 * radius + 1) * (2 * radius + 1)];
+        int diskCount = 0;
+        for (int x = -radius; x <= radius; x++) {
+            for (int z = -radius; z <= radius; z++) {
+                int d = x * x + z * z;
+                if (d < diskSq) {
+                    diskBuf[diskCount++] =
+                            ((long) d << (2 * BITS)) | ((x + BIAS) << BITS) | (z + BIAS);
+                }
+            }
+        }
+        long[] sortedDisk = Arrays.copyOf(diskBuf, diskCount);
+        Arrays.sort(sortedDisk);
+        this.disk = new int[diskCount];
+        this.diskDistanceSq = new int[diskCount];
+        this.diskInShell = new boolean[diskCount];
+        for (int i = 0; i < diskCount; i++) {
+            long entry = sortedDisk[i];
+            int x = (int) ((entry >>> BITS) & MASK) - BIAS;
+            int z = (int) (entry & MASK) - BIAS;
+            int d = (int) (entry >>> (2 * BITS));
+            disk[i] = pack(x, 0, z);
+            diskDistanceSq[i] = d;
+            diskInShell[i] = d >= innerSq;
+        }
+
+        // Interior ball, layer by layer, skipping the platform level; each row is one z range
+        IntArrayList interiorBuf = new IntArrayList();
+        int aboveStart = 0;
+        for (int y = -radius + 1; y <= radius - 1; y++) {
+            if (y == 0) {
+                aboveStart = interiorBuf.size();
+                continue;
+            }
+            for (int x = -radius + 1; x <= radius - 1; x++) {
+                int rowSq = x * x + y * y;
+                if (rowSq >= innerSq) {
+                    continue;
+                }
+                int zMax = floorSqrt(innerSq - rowSq - 1);
+                for (int z = -zMax; z <= zMax; z++) {
+                    interiorBuf.add(pack(x, y, z));
+                }
+            }
+        }
+        this.interior = interiorBuf.toIntArray();
+        this.interiorAboveStart = aboveStart;
+    }
+
+    // Largest r with r * r <= value
+    private static int floorSqrt(int value) {
+        int r = (int) Math.sqrt(value);
+        while (r * r > value) {
+            r--;
+        }
+        while ((r + 1) * (r + 1) <= value) {
+            r++;
+        }
+        return r;
+    }
+
+    public static int pack(int x, int y, int z) {
+        return ((x + BIAS) << (2 * BITS)) | ((y + BIAS) << BITS) | (z + BIAS);
+    }
+
+    public static int unpackX(int packed) {
+        return ((packed >>> (2 * BITS)) & MASK) - BIAS;
+    }
+
+    public static int unpackY(int packed) {
+        return ((packed >>> BITS) & MASK) - BIAS;
+    }
+
+    public static int unpackZ(int packed) {
+        return (packed & MASK) - BIAS;
+    }
+
+    public int getRadius() {
+        return radius;
+    }
+
+    public int shellSize() {
+        return shell.length;
+    }
+
+    public int shellOffset(int index) {
+        return shell[index];
+    }
+
+    // First shell index of layer y (clamped to [-R, R+1], so layerStart(R + 1) is the end)
+    public int shellLayerStart(int y) {
+        int layer = Math.max(-radius, Math.min(y, radius + 1)) + radius;
+        return shellLayerStart[layer];
+    }
+
+    public int diskSize() {
+        return disk.length;
+    }
+
+    public int diskOffset(int index) {
+        return disk[index];
+    }
+
+    public boolean isDiskInShell(int index) {
+        return diskInShell[index];
+    }
+
+    // Number of disk offsets with planar distance <= maxDistance
+    public int diskCountWithin(double maxDistance) {
+        if (maxDistance < 0) {
+            return 0;
+        }
+        double limit = maxDistance * maxDistance;
+        int lo = 0, hi = disk.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (diskDistanceSq[mid] <= limit) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    public int interiorSize() {
+        return interior.length;
+    }
+
+    public int interiorOffset(int index) {
+        return interior[index];
+    }
+
+    public int interiorAboveStart() {
+        return interiorAboveStart;
+    }
+}
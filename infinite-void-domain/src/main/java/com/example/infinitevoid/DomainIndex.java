@@ -0,0 +1,94 @@
+// src/main/java/com/example/infinitevoid/DomainIndex.java
+package com.example.infinitevoid;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongConsumer;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.util.math.MathHelper;
+
+// Domains of one world, keyed by every chunk section (and chunk column) their sphere touches.
+// Matching a position or chunk against nearby domains is one hash lookup instead of a scan over
+// every domain. Entries are added and removed with the sphere they cover.
+public class DomainIndex<D> {
+    private final Long2ObjectOpenHashMap<List<D>> sections = new Long2ObjectOpenHashMap<>();
+    private final Long2ObjectOpenHashMap<List<D>> chunks = new Long2ObjectOpenHashMap<>();
+    private int size = 0;
+
+    public void add(D domain, BlockPos center, int radius) {
+        forEachSection(center, radius, key -> {
+            sections.computeIfAbsent(key, k -> new ArrayList<>(2)).add(domain);
+
+            List<D> column = chunks.computeIfAbsent(chunkKey(key), k -> new ArrayList<>(2));
+            if (!column.contains(domain)) {
+                column.add(domain);
+            }
+        });
+        size++;
+    }
+
+    public void remove(D domain, BlockPos center, int radius) {
+        forEachSection(center, radius, key -> {
+            unlink(sections, key, domain);
+            unlink(chunks, chunkKey(key), domain);
+        });
+        size--;
+    }
+
+    private static <D> void unlink(Long2ObjectOpenHashMap<List<D>> map, long key, D domain) {
+        List<D> list = map.get(key);
+        if (list != null && list.remove(domain) && list.isEmpty()) {
+            map.remove(key);
+        }
+    }
+
+    private static long chunkKey(long sectionKey) {
+        return ChunkPos.toLong(ChunkSectionPos.unpackX(sectionKey),
+                ChunkSectionPos.unpackZ(sectionKey));
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // Domains whose sphere may contain the given point
+    public List<D> at(double x, double y, double z) {
+        List<D> list = sections.get(ChunkSectionPos.asLong(MathHelper.floor(x) >> 4,
+                MathHelper.floor(y) >> 4, MathHelper.floor(z) >> 4));
+        return list != null ? list : List.of();
+    }
+
+    // Domains whose sphere reaches into any section of the chunk
+    public List<D> inChunk(ChunkPos chunk) {
+        List<D> list = chunks.get(chunk.toLong());
+        return list != null ? list : List.of();
+    }
+
+    // Visit every section whose bounds come within the barrier's outer radius of the center
+    private static void forEachSection(BlockPos center, int radius, LongConsumer action) {
+        int reach = radius + 1;
+        long reachSq = (long) reach * reach;
+
+        for (int sx = (center.getX() - reach) >> 4; sx <= (center.getX() + reach) >> 4; sx++) {
+            for (int sy = (center.getY() - reach) >> 4; sy <= (center.getY() + reach) >> 4; sy++) {
+                for (int sz = (center.getZ() - reach) >> 4; sz <= (center.getZ() + reach) >> 4;
+                        sz++) {
+                    long dx = distanceToRange(center.getX(), sx << 4);
+                    long dy = distanceToRange(center.getY(), sy << 4);
+                    long dz = distanceToRange(center.getZ(), sz << 4);
+                    if (dx * dx + dy * dy + dz * dz <= reachSq) {
+                        action.accept(ChunkSectionPos.asLong(sx, sy, sz));
+                    }
+                }
+            }
+        }
+    }
+
+    // Distance from v to the closest block of the 16-block range starting at min
+    private static long distanceToRange(int v, int min) {
+        return v < min ? min - v : v > min + 15 ? v - (min + 15) : 0;
+    }
+}
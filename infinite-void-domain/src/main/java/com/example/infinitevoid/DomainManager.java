@@ -1,15 +1,23 @@
 // src/main/java/com/example/infinitevoid/DomainManager.java
 package com.example.infinitevoid;
 
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ConcurrentHashMap;
 import com.example.infinitevoid.network.DomainPayloads;
 import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
 import net.minecraft.text.Text;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
 
 public class DomainManager {
     private static final DomainManager INSTANCE = new DomainManager();
@@ -18,13 +26,85 @@ public class DomainManager {
         return INSTANCE;
     }
 
-    private final List<Domain> domains = new CopyOnWriteArrayList<>();
-    private final Map<UUID, Boolean> playerDomainStates = new HashMap<>();
+    // Live domains by caster UUID for lookups. Ticking goes through the per-world buckets,
+    // which keep their domains in cast order.
+    private final Map<UUID, Domain> domains = new ConcurrentHashMap<>();
+    // Casts acknowledged but not started yet, by caster UUID
+    private final Map<UUID, CastPreparation> preparing = new ConcurrentHashMap<>();
+    // Per-world state; worlds may tick on different threads, so the map itself is concurrent
+    private final Map<ServerWorld, WorldDomains> worlds = new ConcurrentHashMap<>();
+    private final EffectTraffic effectTraffic = new EffectTraffic();
+    private final DomainMetrics metrics = new DomainMetrics();
+    // Compute phase of every world's domain tick; lives from server start to stop
+    private volatile TickPipeline pipeline;
+
+    private WorldDomains bucket(ServerWorld world) {
+        return worlds.computeIfAbsent(world, WorldDomains::new);
+    }
+
+    public EffectTraffic getEffectTraffic() {
+        return effectTraffic;
+    }
+
+    public DomainMetrics getMetrics() {
+        return metrics;
+    }
+
+    public BlockEditScheduler getEditScheduler(ServerWorld world) {
+        return bucket(world).scheduler();
+    }
+
+    public SnapshotJournal getJournal(ServerWorld world) {
+        return bucket(world).journal();
+    }
+
+    // Admission control: living entities that load or spawn inside an active domain after it
+    // went up are discarded on the next tick. Players are never rejected.
+    public void onEntityLoad(Entity entity, ServerWorld world) {
+        if (!(entity instanceof LivingEntity living) || entity instanceof PlayerEntity) {
+            return;
+        }
+        WorldDomains bucket = worlds.get(world);
+        if (bucket == null) {
+            return;
+        }
+        for (Domain d : bucket.index().at(entity.getX(), entity.getY(), entity.getZ())) {
+            if (d.rejectsEntity(living)) {
+                bucket.reject(entity);
+                return;
+            }
+        }
+    }
+
+    // Put back the terrain of any domain that was still up when the server last stopped
+    public void onServerStarted(MinecraftServer server) {
+        pipeline = new TickPipeline(DomainConfig.get().tickThreads);
+        for (ServerWorld world : server.getWorlds()) {
+            SnapshotJournal.recover(world);
+        }
+    }
+
+    // Dump the metrics window (with the effect traffic per player) when it closes
+    public void onServerTick(MinecraftServer server) {
+        metrics.onServerTick(server);
+    }
+
+    // Domains that are still up stay in their journals and are restored on the next start
+    public void onServerStopped() {
+        if (pipeline != null) {
+            pipeline.shutdown();
+            pipeline = null;
+        }
+        worlds.values().forEach(WorldDomains::close);
+        worlds.clear();
+        domains.clear();
+        preparing.clear();
+        effectTraffic.clear();
+    }
 
     // Check cooldown immediately when key is pressed
     public void checkCooldown(ServerPlayerEntity player) {
-        UUID playerId = player.getUuid();
-        boolean hasActiveDomain = playerDomainStates.getOrDefault(playerId, false);
+        boolean hasActiveDomain = hasActiveDomain(player);
 
         // If player has active domain, allow them to break it (no cooldown check
         // needed)
@@ -52,66 +132,118 @@ public class DomainManager {
             return;
         }
 
-        UUID playerId = player.getUuid();
-        boolean hasActiveDomain = playerDomainStates.getOrDefault(playerId, false);
-
-        if (hasActiveDomain) {
+        if (hasActiveDomain(player)) {
             player.sendMessage(Text.literal("§cYou already have an active Domain Expansion!"));
             return;
         }
 
-        domains.add(new Domain(player));
-        playerDomainStates.put(playerId, true);
+        // Preparations run on shared workers and hold chunk tickets; cap them so a burst of
+        // casts cannot pile up work
+        if (preparing.size() >= DomainConfig.get().maxCastPreparations) {
+            player.sendMessage(Text.literal(
+                    "§cToo many Domain Expansions are being cast, try again in a moment!"));
+            return;
+        }
+
+        // Acknowledge at once; the domain starts on a later world tick, once prepared
+        preparing.put(player.getUuid(), new CastPreparation(player));
         player.sendMessage(Text.literal("§dCasting Domain Expansion..."));
     }
 
+    // Start the prepared casts of this world. A caster who left or changed worlds in the
+    // meantime loses the cast, as does one whose footprint did not load in time.
+    private void startPrepared(ServerWorld world) {
+        Iterator<CastPreparation> it = preparing.values().iterator();
+        while (it.hasNext()) {
+            CastPreparation cast = it.next();
+            if (cast.getWorld() != world) {
+                continue;
+            }
+            ServerPlayerEntity caster = cast.getCaster();
+            if (caster.isRemoved() || caster.getServerWorld() != world) {
+                cast.cancel();
+                it.remove();
+            } else if (cast.tick()) {
+                it.remove();
+                Domain domain = new Domain(cast);
+                domains.put(caster.getUuid(), domain);
+                bucket(world).add(domain);
+            } else if (cast.timedOut()) {
+                cast.cancel();
+                it.remove();
+                caster.sendMessage(Text.literal(
+                        "§cDomain Expansion failed: the area did not load in time!"));
+            }
+        }
+    }
+
     public void requestBreak(ServerPlayerEntity player) {
-        UUID playerId = player.getUuid();
-        boolean hasActiveDomain = playerDomainStates.getOrDefault(playerId, false);
+        Domain d = domains.get(player.getUuid());
 
-        if (!hasActiveDomain) {
+        if (d == null || !d.isActive()) {
             player.sendMessage(
                     Text.literal("§cYou don't have an active Domain Expansion to break!"));
             return;
         }
-        boolean foundDomain = false;
-        for (Domain d : domains) {
-            if (d.isActive() && d.getCaster() == player) {
-                d.requestBreak();
-                foundDomain = true;
-                player.sendMessage(Text.literal("§6Breaking Domain Expansion..."));
-                break;
-            }
-        }
 
-        if (!foundDomain) {
-            player.sendMessage(
-                    Text.literal("§cYou don't have an active Domain Expansion to break!"));
-        }
+        d.requestBreak();
+        player.sendMessage(Text.literal("§6Breaking Domain Expansion..."));
     }
 
-    public void tick() {
-        for (Domain d : domains) {
-            d.tick();
+    // Called at the end of each world's tick, on the thread ticking that world
+    public void tickWorld(ServerWorld world) {
+        TickPipeline pipeline = this.pipeline;
+        if (pipeline == null) {
+            return;
+        }
+        startPrepared(world);
+        WorldDomains bucket = worlds.get(world);
+        if (bucket != null) {
+            bucket.tick(pipeline, domains);
         }
-
-        domains.removeIf(d -> {
-            if (d.isFinished()) {
-                UUID casterId = d.getCaster().getUuid();
-                playerDomainStates.put(casterId, false);
-                System.out.println("Removed finished domain for player: "
-                        + d.getCaster().getName().getString());
-                return true;
-            }
-            return false;
-        });
     }
 
     public int getActiveDomainCount() {
         return domains.size();
     }
 
+    public int getPreparingCount() {
+        return preparing.size();
+    }
+
+    public Collection<Domain> getDomains() {
+        return domains.values();
+    }
+
+    // Estimated heap held by the block snapshots of every live domain
+    public long getSnapshotBytes() {
+        long bytes = 0;
+        for (Domain d : domains.values()) {
+            bytes += d.getSnapshotBytes();
+        }
+        return bytes;
+    }
+
+    // Counts a cast that is still being prepared
     public boolean hasActiveDomain(ServerPlayerEntity player) {
-        return playerDomainStates.getOrDefault(player.getUuid(), false);
+        return domains.containsKey(player.getUuid()) || preparing.containsKey(player.getUuid());
+    }
+
+    // The domain cast by the given player, or null
+    public Domain getDomain(UUID caster) {
+        return domains.get(caster);
+    }
+
+    // Domains whose sphere reaches into the chunk section containing the position
+    public List<Domain> getDomainsAt(ServerWorld world, BlockPos pos) {
+        WorldDomains bucket = worlds.get(world);
+        return bucket != null ? bucket.index().at(pos.getX(), pos.getY(), pos.getZ())
+                : List.of();
+    }
+
+    // Domains whose sphere reaches into any section of the chunk
+    public List<Domain> getDomainsInChunk(ServerWorld world, ChunkPos chunk) {
+        WorldDomains bucket = worlds.get(world);
+        return bucket != null ? bucket.index().inChunk(chunk) : List.of();
     }
 }
@@ -0,0 +1,234 @@
+// src/main/java/com/example/infinitevoid/DomainMetrics.java
+package com.example.infinitevoid;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.WorldSavePath;
+
+// Server-wide timers and counters for the domain tick. Everything is collected over a window
+// that the periodic dump closes, so each dumped row (and /domain stats) covers the same span
+// and can be charted against the tick time next to it. Compute runs on the pipeline's pool and
+// worlds may tick on different threads, so all updates are lock-free except the rare
+// finished-domain totals.
+public class DomainMetrics {
+    public enum Timer {
+        READ, COMPUTE, APPLY, EDITS, JOURNAL
+    }
+
+    public enum Counter {
+        BLOCKS_WRITTEN, BLOCKS_SKIPPED, PARTICLE_PAYLOADS, EFFECT_PACKETS, EFFECT_BYTES,
+        ENTITIES_TRAPPED, INTERIOR_BLOCK_READS, INTERIOR_SECTION_READS
+    }
+
+    private static final class TimerStats {
+        final LongAdder count = new LongAdder();
+        final LongAdder nanos = new LongAdder();
+        final AtomicLong max = new AtomicLong();
+
+        void record(long elapsed) {
+            count.increment();
+            nanos.add(elapsed);
+            max.accumulateAndGet(elapsed, Math::max);
+        }
+    }
+
+    // One closed window: totals per timer and counter, and the gauges at its end
+    public static final class Sample {
+        public final long windowTicks;
+        public final long[] count = new long[Timer.values().length];
+        public final long[] nanos = new long[Timer.values().length];
+        public final long[] maxNanos = new long[Timer.values().length];
+        public final long[] counters = new long[Counter.values().length];
+        public int activeDomains;
+        public long snapshotBytes;
+        public double mspt;
+        // Effect bytes and packets per player (see EffectTraffic)
+        public Map<String, long[]> effectTraffic = Map.of();
+        // Applied and skipped writes per phase of the domains that finished in the window
+        public final EditStats finishedEdits = new EditStats();
+
+        Sample(long windowTicks) {
+            this.windowTicks = windowTicks;
+        }
+
+        // Mean time per call in microseconds
+        public double meanMicros(Timer timer) {
+            long n = count[timer.ordinal()];
+            return n == 0 ? 0 : nanos[timer.ordinal()] / (n * 1_000.0);
+        }
+
+        public double maxMicros(Timer timer) {
+            return maxNanos[timer.ordinal()] / 1_000.0;
+        }
+
+        public long get(Counter counter) {
+            return counters[counter.ordinal()];
+        }
+    }
+
+    private final TimerStats[] timers = new TimerStats[Timer.values().length];
+    private final LongAdder[] counters = new LongAdder[Counter.values().length];
+    private volatile int windowStart;
+    // Worlds finish domains on their own threads, so this is only touched under the lock
+    private EditStats finishedEdits = new EditStats();
+
+    public DomainMetrics() {
+        for (int i = 0; i < timers.length; i++) {
+            timers[i] = new TimerStats();
+        }
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = new LongAdder();
+        }
+    }
+
+    public void record(Timer timer, long nanos) {
+        timers[timer.ordinal()].record(nanos);
+    }
+
+    public void add(Counter counter, long amount) {
+        if (amount != 0) {
+            counters[counter.ordinal()].add(amount);
+        }
+    }
+
+    // Count a finished domain's writes into the window
+    public void addFinished(EditStats stats) {
+        synchronized (this) {
+            finishedEdits.add(stats);
+        }
+    }
+
+    // The window so far, without closing it
+    public Sample sample(MinecraftServer server) {
+        return collect(server, false);
+    }
+
+    private Sample collect(MinecraftServer server, boolean reset) {
+        Sample sample = new Sample(Math.max(0, server.getTicks() - windowStart));
+        for (Timer timer : Timer.values()) {
+            TimerStats stats = timers[timer.ordinal()];
+            int i = timer.ordinal();
+            sample.count[i] = reset ? stats.count.sumThenReset() : stats.count.sum();
+            sample.nanos[i] = reset ? stats.nanos.sumThenReset() : stats.nanos.sum();
+            sample.maxNanos[i] = reset ? stats.max.getAndSet(0) : stats.max.get();
+        }
+        for (Counter counter : Counter.values()) {
+            LongAdder adder = counters[counter.ordinal()];
+            sample.counters[counter.ordinal()] = reset ? adder.sumThenReset() : adder.sum();
+        }
+        synchronized (this) {
+            sample.finishedEdits.add(finishedEdits);
+            if (reset) {
+                finishedEdits = new EditStats();
+            }
+        }
+        if (reset) {
+            windowStart = server.getTicks();
+        }
+
+        DomainManager manager = DomainManager.get();
+        sample.activeDomains = manager.getActiveDomainCount();
+        sample.snapshotBytes = manager.getSnapshotBytes();
+        sample.mspt = server.getAverageTickTime();
+        sample.effectTraffic = manager.getEffectTraffic().totals(reset);
+        return sample;
+    }
+
+    // Drop the window so far and start a new one
+    public void reset(MinecraftServer server) {
+        collect(server, true);
+    }
+
+    // Close the window every metrics.dumpSeconds and append it to the dump file
+    public void onServerTick(MinecraftServer server) {
+        DomainConfig config = DomainConfig.get();
+        if (config.metricsFormat.equals("none")
+                || server.getTicks() % (config.metricsDumpSeconds
+                        * DomainTimeline.TICKS_PER_SECOND) != 0) {
+            return;
+        }
+        Sample sample = collect(server, true);
+        boolean json = config.metricsFormat.equals("json");
+        Path path = server.getSavePath(WorldSavePath.ROOT)
+                .resolve(json ? "infinitevoid_metrics.jsonl" : "infinitevoid_metrics.csv");
+
+        List<String> lines = new ArrayList<>();
+        if (!json && !Files.exists(path)) {
+            lines.add(csvHeader());
+        }
+        lines.add(json ? toJson(server.getTicks(), sample) : toCsv(server.getTicks(), sample));
+        try {
+            Files.write(path, lines, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            DomainExpansionMod.LOGGER.warn("Failed to write domain metrics {}", path, e);
+        }
+    }
+
+    // Per-player traffic only goes into the JSON dump; the CSV keeps one column per counter
+    private static String csvHeader() {
+        StringBuilder sb =
+                new StringBuilder("tick,window_ticks,mspt,active_domains,snapshot_bytes");
+        for (Timer timer : Timer.values()) {
+            String name = timer.name().toLowerCase(Locale.ROOT);
+            sb.append(',').append(name).append("_count,").append(name).append("_mean_us,")
+                    .append(name).append("_max_us");
+        }
+        for (Counter counter : Counter.values()) {
+            sb.append(',').append(counter.name().toLowerCase(Locale.ROOT));
+        }
+        return sb.toString();
+    }
+
+    private static String toCsv(long tick, Sample s) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(tick).append(',').append(s.windowTicks).append(',')
+                .append(String.format(Locale.ROOT, "%.3f", s.mspt)).append(',')
+                .append(s.activeDomains).append(',').append(s.snapshotBytes);
+        for (Timer timer : Timer.values()) {
+            sb.append(',').append(s.count[timer.ordinal()])
+                    .append(String.format(Locale.ROOT, ",%.3f,%.3f", s.meanMicros(timer),
+                            s.maxMicros(timer)));
+        }
+        for (Counter counter : Counter.values()) {
+            sb.append(',').append(s.get(counter));
+        }
+        return sb.toString();
+    }
+
+    // One object per line, same fields as the CSV columns
+    private static String toJson(long tick, Sample s) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\"tick\":").append(tick).append(",\"window_ticks\":").append(s.windowTicks)
+                .append(String.format(Locale.ROOT, ",\"mspt\":%.3f", s.mspt))
+                .append(",\"active_domains\":").append(s.activeDomains)
+                .append(",\"snapshot_bytes\":").append(s.snapshotBytes);
+        for (Timer timer : Timer.values()) {
+            sb.append(",\"").append(timer.name().toLowerCase(Locale.ROOT)).append("\":{")
+                    .append("\"count\":").append(s.count[timer.ordinal()])
+                    .append(String.format(Locale.ROOT, ",\"mean_us\":%.3f,\"max_us\":%.3f}",
+                            s.meanMicros(timer), s.maxMicros(timer)));
+        }
+        for (Counter counter : Counter.values()) {
+            sb.append(",\"").append(counter.name().toLowerCase(Locale.ROOT)).append("\":")
+                    .append(s.get(counter));
+        }
+        sb.append(",\"effect_traffic\":{");
+        boolean first = true;
+        for (Map.Entry<String, long[]> e : s.effectTraffic.entrySet()) {
+            sb.append(first ? "" : ",").append('"').append(e.getKey()).append("\":{\"bytes\":")
+                    .append(e.getValue()[0]).append(",\"packets\":").append(e.getValue()[1])
+                    .append('}');
+            first = false;
+        }
+        return sb.append("}}").toString();
+    }
+}
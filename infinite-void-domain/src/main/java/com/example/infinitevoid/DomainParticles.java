@@ -0,0 +1,206 @@
+// src/main/java/com/example/infinitevoid/DomainParticles.java
+package com.example.infinitevoid;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import net.minecraft.particle.ParticleTypes;
+import net.minecraft.particle.SimpleParticleType;
+import net.minecraft.util.math.BlockPos;
+
+// The particle effects of one domain, fully determined by a few numbers: center, platform
+// height, radius and seed. The server only sends these numbers: once on activation for the
+// Unlimited Void (DomainActivatedPayload), and per tick for the short light-speed ring
+// (DomainParticlesPayload). Each client expands them with plan(). Void space randomness is
+// seeded from the domain seed and the tick, so every observer sees the same moon and stars.
+public final class DomainParticles {
+    public enum Effect {
+        LIGHT_SPEED, VOID_SPACE
+    }
+
+    // Spawn parameters of each particle a batch can hold
+    public enum Kind {
+        END_ROD(ParticleTypes.END_ROD, 0, 0, 0, 0),
+        END_ROD_FAST(ParticleTypes.END_ROD, 0, 0, 0, 0.1),
+        PORTAL(ParticleTypes.PORTAL, 0.1, 0, 0.1, 0),
+        SMOKE(ParticleTypes.SMOKE, 0.1, 0.1, 0.1, 0);
+
+        public final SimpleParticleType type;
+        public final double deltaX, deltaY, deltaZ;
+        public final double speed;
+
+        Kind(SimpleParticleType type, double deltaX, double deltaY, double deltaZ,
+                double speed) {
+            this.type = type;
+            this.deltaX = deltaX;
+            this.deltaY = deltaY;
+            this.deltaZ = deltaZ;
+            this.speed = speed;
+        }
+    }
+
+    private static final Kind[] KINDS = Kind.values();
+
+    // Particles to spawn on one tick
+    public static final class ParticleBatch {
+        public final Effect effect;
+        public final long tick;
+        private byte[] kinds = new byte[64];
+        private double[] coords = new double[64 * 3];
+        private int size = 0;
+
+        ParticleBatch(Effect effect, long tick) {
+            this.effect = effect;
+            this.tick = tick;
+        }
+
+        void add(Kind kind, double x, double y, double z) {
+            if (size == kinds.length) {
+                kinds = Arrays.copyOf(kinds, size * 2);
+                coords = Arrays.copyOf(coords, size * 6);
+            }
+            kinds[size] = (byte) kind.ordinal();
+            coords[size * 3] = x;
+            coords[size * 3 + 1] = y;
+            coords[size * 3 + 2] = z;
+            size++;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public Kind kind(int i) {
+            return KINDS[kinds[i]];
+        }
+
+        public double x(int i) {
+            return coords[i * 3];
+        }
+
+        public double y(int i) {
+            return coords[i * 3 + 1];
+        }
+
+        public double z(int i) {
+            return coords[i * 3 + 2];
+        }
+    }
+
+    private final int centerX, centerY, centerZ;
+    private final int platformY;
+    private final int radius;
+    private final long seed;
+
+    public DomainParticles(BlockPos center, int platformY, int radius, long seed) {
+        this.centerX = center.getX();
+        this.centerY = center.getY();
+        this.centerZ = center.getZ();
+        this.platformY = platformY;
+        this.radius = radius;
+        this.seed = seed;
+    }
+
+    public long seed() {
+        return seed;
+    }
+
+    public ParticleBatch plan(Effect effect, long tick) {
+        ParticleBatch batch = new ParticleBatch(effect, tick);
+        if (effect == Effect.LIGHT_SPEED) {
+            planLightSpeed(batch, tick);
+        } else {
+            planVoidSpace(batch, new SplittableRandom(seed ^ tick * 0x9E3779B97F4A7C15L), tick);
+        }
+        return batch;
+    }
+
+    private void planLightSpeed(ParticleBatch batch, long tick) {
+        // Simple end rod effects during activation, turning 2.5 degrees per tick
+        for (int i = 0; i < 20; i++) {
+            double angle = (tick * 2.5 + i * 18) % 360;
+            double radians = Math.toRadians(angle);
+            double r = 15;
+
+            batch.add(Kind.END_ROD_FAST, centerX + Math.cos(radians) * r, platformY + 5,
+                    centerZ + Math.sin(radians) * r);
+        }
+    }
+
+    private void planVoidSpace(ParticleBatch batch, SplittableRandom random, long tick) {
+        // Moon orbit calculation
+        double orbitTime = tick / 60.0; // Complete orbit every 3 seconds
+        double orbitAngle = orbitTime * 2 * Math.PI;
+        double orbitRadius = radius * 0.6;
+
+        // Moon position with orbit
+        double moonX = centerX + Math.cos(orbitAngle) * orbitRadius;
+        double moonY = platformY + 10; // Fixed height
+        double moonZ = centerZ + Math.sin(orbitAngle) * orbitRadius;
+
+        // Pulsating moon effect
+        double pulseTime = tick / 20.0;
+        double pulseIntensity = 0.5 + 0.5 * Math.sin(pulseTime * Math.PI); // Between 0 and 1
+        int particleCount = (int) (30 + 20 * pulseIntensity); // Between 30 and 50 particles
+
+        // Create hollow pulsating moon: points on the surface of a sphere of radius 3
+        for (int i = 0; i < particleCount; i++) {
+            double theta = random.nextDouble() * Math.PI * 2;
+            double phi = Math.acos(2 * random.nextDouble() - 1);
+            double r = 3; // Moon radius
+
+            batch.add(Kind.END_ROD, moonX + r * Math.sin(phi) * Math.cos(theta),
+                    moonY + r * Math.sin(phi) * Math.sin(theta), moonZ + r * Math.cos(phi));
+        }
+
+        // Stars on the ceiling (upper part of the sphere)
+        for (int i = 0; i < 200; i++) {
+            double radians = Math.toRadians(random.nextDouble() * 360);
+
+            // Generate positions in upper hemisphere only
+            double heightFactor = 0.3 + random.nextDouble() * 0.7; // 30% to 100% of radius
+            double dy = radius * heightFactor;
+
+            // Calculate horizontal distance based on height
+            double maxHorizontalRadius = Math.sqrt(radius * radius - dy * dy) - 2;
+            double horizontalRadius = random.nextDouble() * maxHorizontalRadius;
+
+            // Small chance for each star to appear
+            if (random.nextDouble() < 0.3) {
+                batch.add(Kind.END_ROD, centerX + Math.cos(radians) * horizontalRadius,
+                        centerY + dy, centerZ + Math.sin(radians) * horizontalRadius);
+            }
+        }
+
+        // End portal effects on black concrete surface (decorative only)
+        for (int i = 0; i < 100; i++) {
+            double dx = (random.nextDouble() - 0.5) * (radius * 2 - 4);
+            double dz = (random.nextDouble() - 0.5) * (radius * 2 - 4);
+
+            // Check if position is within platform bounds
+            if (Math.sqrt(dx * dx + dz * dz) < radius - 1) {
+                batch.add(Kind.PORTAL, centerX + dx, platformY + 0.5, centerZ + dz);
+            }
+        }
+
+        // End rod particles near the barrier walls
+        for (int i = 0; i < 50; i++) {
+            double radians = Math.toRadians(random.nextDouble() * 360);
+            double height = platformY + random.nextDouble() * (radius * 2) - radius;
+
+            // Place near the inner surface of the barrier
+            batch.add(Kind.END_ROD, centerX + Math.cos(radians) * (radius - 2), height,
+                    centerZ + Math.sin(radians) * (radius - 2));
+        }
+
+        // White smoke concentrated near obsidian walls
+        for (int i = 0; i < 40; i++) {
+            double radians = Math.toRadians(random.nextDouble() * 360);
+            double verticalOffset = (random.nextDouble() - 0.5) * radius;
+
+            // Place very close to inner obsidian surface
+            double distanceFromCenter = radius - 1 - random.nextDouble() * 0.5;
+            batch.add(Kind.SMOKE, centerX + Math.cos(radians) * distanceFromCenter,
+                    platformY + verticalOffset, centerZ + Math.sin(radians) * distanceFromCenter);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+// src/main/java/com/example/infinitevoid/DomainPlanner.java
+package com.example.infinitevoid;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.minecraft.util.math.BlockPos;
+
+// The pure math of one domain: absolute block positions for every geometry table. It runs on a
+// small worker pool from immutable inputs (center and geometry); the server thread only picks
+// up the results. Particles are not planned here: clients expand them (see DomainParticles).
+public class DomainPlanner {
+    private static final AtomicInteger THREAD_ID = new AtomicInteger();
+    private static final ExecutorService POOL = Executors.newFixedThreadPool(
+            Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2)), r -> {
+                Thread thread =
+                        new Thread(r, "InfiniteVoid-Planner-" + THREAD_ID.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    // Absolute packed positions of the geometry tables, in table order
+    public static final class Positions {
+        public final long[] shell;
+        public final long[] interior;
+        public final long[] disk;
+        // Disk positions without the ring owned by the barrier; disk indices [a, b) map to
+        // platform[platformIndex[a] .. platformIndex[b])
+        public final long[] platform;
+        public final int[] platformIndex;
+
+        Positions(long[] shell, long[] interior, long[] disk, long[] platform,
+                int[] platformIndex) {
+            this.shell = shell;
+            this.interior = interior;
+            this.disk = disk;
+            this.platform = platform;
+            this.platformIndex = platformIndex;
+        }
+
+        public long[] shell(int start, int end) {
+            return Arrays.copyOfRange(shell, start, end);
+        }
+
+        public long[] platform(int start, int end) {
+            return Arrays.copyOfRange(platform, platformIndex[start], platformIndex[end]);
+        }
+    }
+
+    private final int centerX, centerY, centerZ;
+    private final DomainGeometry geometry;
+
+    private final CompletableFuture<Positions> positions;
+
+    public DomainPlanner(BlockPos center, DomainGeometry geometry) {
+        this.centerX = center.getX();
+        this.centerY = center.getY();
+        this.centerZ = center.getZ();
+        this.geometry = geometry;
+        this.positions = CompletableFuture.supplyAsync(this::planPositions, POOL);
+    }
+
+    // Geometry tables for a radius, built on the workers the first time the radius is cast
+    public static CompletableFuture<DomainGeometry> planGeometry(int radius) {
+        return CompletableFuture.supplyAsync(() -> DomainGeometry.forRadius(radius), POOL);
+    }
+
+    // Planned positions, or null if the workers have not finished them yet
+    public Positions positionsNow() {
+        return positions.getNow(null);
+    }
+
+    // Planned positions, waiting for the workers if needed (only at phase ends, long after
+    // planning started)
+    public Positions positions() {
+        return positions.join();
+    }
+
+    private long pack(int offset) {
+        return BlockPos.asLong(centerX + DomainGeometry.unpackX(offset),
+                centerY + DomainGeometry.unpackY(offset), centerZ + DomainGeometry.unpackZ(offset));
+    }
+
+    Positions planPositions() {
+        long[] shell = new long[geometry.shellSize()];
+        for (int i = 0; i < shell.length; i++) {
+            shell[i] = pack(geometry.shellOffset(i));
+        }
+
+        long[] interior = new long[geometry.interiorSize()];
+        for (int i = 0; i < interior.length; i++) {
+            interior[i] = pack(geometry.interiorOffset(i));
+        }
+
+        long[] disk = new long[geometry.diskSize()];
+        long[] platform = new long[disk.length];
+        int[] platformIndex = new int[disk.length + 1];
+        int n = 0;
+        for (int i = 0; i < disk.length; i++) {
+            disk[i] = pack(geometry.diskOffset(i));
+            platformIndex[i] = n;
+            if (!geometry.isDiskInShell(i)) {
+                platform[n++] = disk[i];
+            }
+        }
+        platformIndex[disk.length] = n;
+
+        return new Positions(shell, interior, disk, Arrays.copyOf(platform, n), platformIndex);
+    }
+}
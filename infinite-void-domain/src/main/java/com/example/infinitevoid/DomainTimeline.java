@@ -0,0 +1,58 @@
+// src/main/java/com/example/infinitevoid/DomainTimeline.java
+package com.example.infinitevoid;
+
+// Tick-indexed phase lengths of a domain. Each phase spreads its work evenly over a fixed number
+// of server ticks, so a lagging server stretches the animation instead of catching up in one
+// burst, and the same cast always produces the same sequence of edits.
+public final class DomainTimeline {
+    public static final int TICKS_PER_SECOND = 20;
+
+    // Defaults: barrier rises for 2 seconds, then the platform spreads for 1 second; barrier
+    // and platform come down over 3 seconds
+    public static final int BARRIER_TICKS = 2 * TICKS_PER_SECOND;
+    public static final int PLATFORM_TICKS = TICKS_PER_SECOND;
+    public static final int ACTIVATION_TICK = BARRIER_TICKS + PLATFORM_TICKS;
+    public static final int BREAK_TICKS = 3 * TICKS_PER_SECOND;
+
+    // Phase lengths of one cast
+    public final int barrierTicks;
+    public final int platformTicks;
+    public final int activationTick;
+    public final int breakTicks;
+
+    public DomainTimeline(int barrierTicks, int platformTicks, int breakTicks) {
+        this.barrierTicks = Math.max(1, barrierTicks);
+        this.platformTicks = Math.max(1, platformTicks);
+        this.activationTick = this.barrierTicks + this.platformTicks;
+        this.breakTicks = Math.max(1, breakTicks);
+    }
+
+    // The configured phase lengths, stretched where a phase would otherwise queue more edits
+    // per tick than the world's edit budget drains. Large domains animate more slowly instead
+    // of building up a backlog.
+    public static DomainTimeline forCast(DomainConfig config, DomainGeometry geometry) {
+        int budget = config.maxBlockEditsPerTick;
+        return new DomainTimeline(
+                Math.max(config.barrierTicks, quota(geometry.shellSize(), budget)),
+                Math.max(config.platformTicks, quota(geometry.diskSize(), budget)),
+                Math.max(config.breakTicks,
+                        quota(geometry.shellSize() + geometry.diskSize(), budget)));
+    }
+
+    // Units of work that should be done once `elapsed` ticks of a phase spreading `total` units
+    // over `ticks` ticks have run; every tick adds the same quota of at most ceil(total / ticks)
+    public static int progress(int total, int ticks, long elapsed) {
+        if (elapsed <= 0) {
+            return 0;
+        }
+        if (elapsed >= ticks) {
+            return total;
+        }
+        return (int) ((total * elapsed + ticks - 1) / ticks);
+    }
+
+    // Per-tick quota for spreading `total` units over `ticks` ticks
+    public static int quota(int total, int ticks) {
+        return (total + ticks - 1) / ticks;
+    }
+}
@@ -0,0 +1,54 @@
+// src/main/java/com/example/infinitevoid/EditStats.java
+package com.example.infinitevoid;
+
+import com.example.infinitevoid.BlockEditScheduler.Phase;
+
+// Applied vs. skipped block writes per edit phase for one owner. A write is skipped when the
+// block already holds the target state, or when both the old and the new state are air.
+public class EditStats {
+    public static final class Counter {
+        long applied;
+        long skipped;
+
+        public long applied() {
+            return applied;
+        }
+
+        public long skipped() {
+            return skipped;
+        }
+    }
+
+    private final Counter[] counters = new Counter[Phase.values().length];
+
+    public EditStats() {
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = new Counter();
+        }
+    }
+
+    public Counter counter(Phase phase) {
+        return counters[phase.ordinal()];
+    }
+
+    public void add(EditStats other) {
+        for (int i = 0; i < counters.length; i++) {
+            counters[i].applied += other.counters[i].applied;
+            counters[i].skipped += other.counters[i].skipped;
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (Phase phase : Phase.values()) {
+            Counter c = counter(phase);
+            if (sb.length() > 0) {
+                sb.append(", ");
+            }
+            sb.append(phase).append(' ').append(c.applied).append(" applied / ")
+                    .append(c.skipped).append(" skipped");
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,95 @@
+// src/main/java/com/example/infinitevoid/EffectTraffic.java
+package com.example.infinitevoid;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import com.example.infinitevoid.network.DomainPayloads;
+import io.netty.buffer.Unpooled;
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.server.network.ServerPlayerEntity;
+
+// Bytes of domain effect payloads sent to each player, so the LOD settings can be tuned against
+// real traffic. Sizes are measured by encoding each payload through its codec, plus the packet
+// id and channel the custom payload packet adds, without compression or framing. A payload sent
+// to several players is encoded once. The totals are windowed with DomainMetrics and show up in
+// its dumps and /domain stats. Worlds may tick on different threads, so recording is
+// synchronized.
+public class EffectTraffic {
+    private final Object2LongOpenHashMap<UUID> bytes = new Object2LongOpenHashMap<>();
+    private final Object2LongOpenHashMap<UUID> packets = new Object2LongOpenHashMap<>();
+    private final Map<UUID, String> names = new HashMap<>();
+    // The payload measured last and its size
+    private Object measured;
+    private int measuredSize;
+
+    public void send(ServerPlayerEntity player, DomainPayloads.DomainActivatedPayload payload) {
+        ServerPlayNetworking.send(player, payload);
+        record(player, payload, DomainPayloads.DomainActivatedPayload.CODEC);
+    }
+
+    public void send(ServerPlayerEntity player, DomainPayloads.DomainParticlesPayload payload) {
+        ServerPlayNetworking.send(player, payload);
+        record(player, payload, DomainPayloads.DomainParticlesPayload.CODEC);
+    }
+
+    public void send(ServerPlayerEntity player, DomainPayloads.DomainCollapsePayload payload) {
+        ServerPlayNetworking.send(player, payload);
+        record(player, payload, DomainPayloads.DomainCollapsePayload.CODEC);
+    }
+
+    private synchronized <T extends CustomPayload> void record(ServerPlayerEntity player,
+            T payload, PacketCodec<PacketByteBuf, T> codec) {
+        if (payload != measured) {
+            measured = payload;
+            measuredSize = size(payload, codec);
+        }
+        int size = measuredSize;
+
+        bytes.addTo(player.getUuid(), size);
+        packets.addTo(player.getUuid(), 1);
+        names.putIfAbsent(player.getUuid(), player.getName().getString());
+
+        DomainMetrics metrics = DomainManager.get().getMetrics();
+        metrics.add(DomainMetrics.Counter.EFFECT_PACKETS, 1);
+        metrics.add(DomainMetrics.Counter.EFFECT_BYTES, size);
+    }
+
+    // Bytes and packets per player name since the window started; reset closes the window
+    public synchronized Map<String, long[]> totals(boolean reset) {
+        Map<String, long[]> totals = new LinkedHashMap<>();
+        for (Object2LongMap.Entry<UUID> e : bytes.object2LongEntrySet()) {
+            totals.put(names.get(e.getKey()),
+                    new long[] {e.getLongValue(), packets.getLong(e.getKey())});
+        }
+        if (reset) {
+            clear();
+        }
+        return totals;
+    }
+
+    public synchronized void clear() {
+        bytes.clear();
+        packets.clear();
+        names.clear();
+    }
+
+    // Custom payload packet id, then the channel and the payload as the packet writes them
+    private static <T extends CustomPayload> int size(T payload,
+            PacketCodec<PacketByteBuf, T> codec) {
+        PacketByteBuf buf = new PacketByteBuf(Unpooled.buffer());
+        try {
+            buf.writeIdentifier(payload.getId().id());
+            codec.encode(buf, payload);
+            return 1 + buf.readableBytes();
+        } finally {
+            buf.release();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+// src/main/java/com/example/infinitevoid/SectionReader.java
+package com.example.infinitevoid;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.PalettedContainer;
+import net.minecraft.world.chunk.WorldChunk;
+
+// Reads blocks a chunk section at a time, the read-side counterpart of SectionWriter. Callers
+// seek to a section first and ask whether it holds a single state: all-air sections (and
+// positions outside the world) need no block reads at all, and a section whose palette has one
+// state answers for all its blocks. Only mixed sections are read block by block, straight from
+// the section. Sections are looked at once until the next reset.
+public class SectionReader {
+    private static final BlockState AIR = Blocks.AIR.getDefaultState();
+
+    private static final class Entry {
+        final PalettedContainer<BlockState> states;
+        final BlockState uniform; // The state of every block in the section, or null if mixed
+
+        Entry(PalettedContainer<BlockState> states, BlockState uniform) {
+            this.states = states;
+            this.uniform = uniform;
+        }
+    }
+
+    private final ServerWorld world;
+    private final Long2ObjectOpenHashMap<Entry> sections = new Long2ObjectOpenHashMap<>();
+    private long key = Long.MIN_VALUE;
+    private Entry current;
+    private long blockReads, sectionReads;
+
+    public SectionReader(ServerWorld world) {
+        this.world = world;
+    }
+
+    // Forget what was seen, so the next seeks look at the world again
+    public void reset() {
+        sections.clear();
+        key = Long.MIN_VALUE;
+        current = null;
+    }
+
+    // Move to the section containing the block
+    public void seek(int x, int y, int z) {
+        long next = ChunkSectionPos.asLong(x >> 4, y >> 4, z >> 4);
+        if (next == key) {
+            return;
+        }
+        key = next;
+        current = sections.get(next);
+        if (current == null) {
+            current = load(x, y, z);
+            sections.put(next, current);
+        }
+    }
+
+    private Entry load(int x, int y, int z) {
+        sectionReads++;
+        PalettedContainer<BlockState> states = sectionStates(x, y, z);
+        if (states == null) {
+            return new Entry(null, AIR);
+        }
+        // The palette may still list states that are gone from the section; that only makes
+        // a uniform section look mixed, which is slower but still correct
+        BlockState first = states.get(0, 0, 0);
+        return new Entry(states, states.hasAny(state -> state != first) ? null : first);
+    }
+
+    // The block states of the section holding the block, or null if it has none (an empty
+    // section, or outside the world)
+    PalettedContainer<BlockState> sectionStates(int x, int y, int z) {
+        if (world.isOutOfHeightLimit(y)) {
+            return null;
+        }
+        WorldChunk chunk = world.getChunk(x >> 4, z >> 4);
+        ChunkSection section = chunk.getSection(chunk.getSectionIndex(y));
+        return section.isEmpty() ? null : section.getBlockStateContainer();
+    }
+
+    // The single state of the current section, or null if it has to be read block by block
+    public BlockState uniformState() {
+        return current.uniform;
+    }
+
+    // A block of the current section
+    public BlockState get(int x, int y, int z) {
+        blockReads++;
+        return current.states.get(x & 15, y & 15, z & 15);
+    }
+
+    public long blockReads() {
+        return blockReads;
+    }
+
+    public long sectionReads() {
+        return sectionReads;
+    }
+}
@@ -0,0 +1,222 @@
+// src/main/java/com/example/infinitevoid/SectionWriter.java
+package com.example.infinitevoid;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.Heightmap;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.WorldChunk;
+import net.minecraft.world.chunk.light.ChunkLightProvider;
+import net.minecraft.world.chunk.light.LightingProvider;
+
+// Groups block edits by chunk section and writes each group straight into the section's
+// palette. This skips the per-block neighbor/observer updates and block callbacks of
+// World.setBlockState; the chunk holder still batches the changed positions into one delta
+// packet per section. Light is handed over once the whole section is written: its empty status
+// changes at most once, and the positions whose light properties changed are queued together.
+// Mob paths are only refreshed in sections whose entities tick.
+public class SectionWriter {
+    // Used only for block entity blocks, which need the full world path to stay consistent
+    private static final int FALLBACK_FLAGS = Block.NOTIFY_LISTENERS | Block.FORCE_STATE;
+    private static final Heightmap.Type[] HEIGHTMAPS = {
+        Heightmap.Type.MOTION_BLOCKING, Heightmap.Type.MOTION_BLOCKING_NO_LEAVES,
+        Heightmap.Type.OCEAN_FLOOR, Heightmap.Type.WORLD_SURFACE
+    };
+
+    // Where the writes of one batch are counted, and what happens to the block entities they
+    // replace: build writes save them to the owner's store, restores load them back
+    public static final class Target {
+        final EditStats.Counter counter;
+        final BlockEntityStore blockEntities; // null if the owner keeps none
+        final boolean restore;
+        final Block onlyOver; // If set, positions holding any other block are skipped
+
+        public Target(EditStats.Counter counter, BlockEntityStore blockEntities,
+                boolean restore, Block onlyOver) {
+            this.counter = counter;
+            this.blockEntities = blockEntities;
+            this.restore = restore;
+            this.onlyOver = onlyOver;
+        }
+    }
+
+    static final class SectionEdits {
+        short[] local = new short[256];
+        BlockState[] states = new BlockState[256];
+        Target[] targets = new Target[256];
+        int count = 0;
+
+        void add(short packedLocal, BlockState state, Target target) {
+            if (count == local.length) {
+                local = Arrays.copyOf(local, count * 2);
+                states = Arrays.copyOf(states, count * 2);
+                targets = Arrays.copyOf(targets, count * 2);
+            }
+            local[count] = packedLocal;
+            targets[count] = target;
+            states[count++] = state;
+        }
+
+        void clear() {
+            Arrays.fill(states, 0, count, null);
+            Arrays.fill(targets, 0, count, null);
+            count = 0;
+        }
+    }
+
+    private final ServerWorld world;
+    private final Long2ObjectLinkedOpenHashMap<SectionEdits> pending =
+            new Long2ObjectLinkedOpenHashMap<>();
+    private final ArrayDeque<SectionEdits> pool = new ArrayDeque<>();
+    private final BlockPos.Mutable mutable = new BlockPos.Mutable();
+    // Positions of the current section that need a light check
+    private final LongArrayList lightChecks = new LongArrayList();
+
+    public SectionWriter(ServerWorld world) {
+        this.world = world;
+    }
+
+    public void add(long pos, BlockState state, Target target) {
+        int x = BlockPos.unpackLongX(pos);
+        int y = BlockPos.unpackLongY(pos);
+        int z = BlockPos.unpackLongZ(pos);
+        long key = ChunkSectionPos.asLong(x >> 4, y >> 4, z >> 4);
+
+        SectionEdits edits = pending.get(key);
+        if (edits == null) {
+            edits = pool.isEmpty() ? new SectionEdits() : pool.poll();
+            pending.put(key, edits);
+        }
+        edits.add((short) ((x & 15) << 8 | (z & 15) << 4 | (y & 15)), state, target);
+    }
+
+    // Write every pending edit, one section at a time
+    public void flush() {
+        for (Long2ObjectMap.Entry<SectionEdits> entry : pending.long2ObjectEntrySet()) {
+            SectionEdits edits = entry.getValue();
+            writeSection(entry.getLongKey(), edits);
+            edits.clear();
+            pool.add(edits);
+        }
+        pending.clear();
+    }
+
+    // Write the grouped edits of one section
+    void writeSection(long key, SectionEdits edits) {
+        int sectionX = ChunkSectionPos.unpackX(key);
+        int sectionY = ChunkSectionPos.unpackY(key);
+        int sectionZ = ChunkSectionPos.unpackZ(key);
+
+        if (world.isOutOfHeightLimit(sectionY << 4)) {
+            return;
+        }
+
+        WorldChunk chunk = world.getChunk(sectionX, sectionZ);
+        ChunkSection section = chunk.getSection(chunk.getSectionIndex(sectionY << 4));
+        boolean wasEmpty = section.isEmpty();
+        // Mobs only path through sections whose entities tick; elsewhere the client just
+        // needs the change
+        boolean navigating =
+                world.shouldTickEntity(mutable.set(sectionX << 4, sectionY << 4, sectionZ << 4));
+        int written = 0;
+
+        for (int i = 0; i < edits.count; i++) {
+            short local = edits.local[i];
+            int x = local >> 8 & 15, y = local & 15, z = local >> 4 & 15;
+            BlockState state = edits.states[i];
+            Target target = edits.targets[i];
+            EditStats.Counter counter = target.counter;
+            mutable.set((sectionX << 4) + x, (sectionY << 4) + y, (sectionZ << 4) + z);
+
+            // Only real changes are written: the block may already be in place (a finished
+            // wave re-queued, or terrain that matched its snapshot), and air to air is a no-op.
+            // A restore limited to one block leaves positions someone else changed.
+            BlockState current = section.getBlockState(x, y, z);
+            if (!target.restore && target.blockEntities != null && !current.hasBlockEntity()) {
+                // A block entity captured here was broken or replaced since
+                target.blockEntities.discard(mutable);
+            }
+            if (current == state || (current.isAir() && state.isAir())
+                    || (target.onlyOver != null && current.getBlock() != target.onlyOver)) {
+                counter.skipped++;
+                continue;
+            }
+
+            if (current.hasBlockEntity() || state.hasBlockEntity()) {
+                if (writeBlockEntity(target, current, state)) {
+                    counter.applied++;
+                    written++;
+                } else {
+                    counter.skipped++;
+                }
+                continue;
+            }
+            counter.applied++;
+            written++;
+
+            // Neighbors are deliberately not notified so the terrain around the domain stays
+            // untouched. Heightmaps follow each write, as in WorldChunk.setBlockState.
+            BlockState previous = section.setBlockState(x, y, z, state);
+            for (Heightmap.Type type : HEIGHTMAPS) {
+                chunk.getHeightmap(type).trackUpdate(x, mutable.getY(), z, state);
+            }
+            if (ChunkLightProvider.needsLightUpdate(chunk, mutable, previous, state)) {
+                chunk.getChunkSkyLight().isSkyLightAccessible(chunk, x, mutable.getY(), z);
+                lightChecks.add(mutable.asLong());
+            }
+            if (navigating) {
+                world.updateListeners(mutable, previous, state, Block.NOTIFY_LISTENERS);
+            } else {
+                world.getChunkManager().markForUpdate(mutable);
+            }
+            world.onBlockChanged(mutable, previous, state);
+        }
+
+        if (written > 0) {
+            chunk.setNeedsSaving(true);
+        }
+        LightingProvider light = world.getChunkManager().getLightingProvider();
+        if (section.isEmpty() != wasEmpty) {
+            light.setSectionStatus(mutable.set(sectionX << 4, sectionY << 4, sectionZ << 4),
+                    section.isEmpty());
+        }
+        for (int i = 0; i < lightChecks.size(); i++) {
+            light.checkBlock(mutable.set(lightChecks.getLong(i)));
+        }
+        lightChecks.clear();
+
+        DomainMetrics metrics = DomainManager.get().getMetrics();
+        metrics.add(DomainMetrics.Counter.BLOCKS_WRITTEN, written);
+        metrics.add(DomainMetrics.Counter.BLOCKS_SKIPPED, edits.count - written);
+    }
+
+    // A block entity is replaced or put back at `mutable`. Its data (saved at capture) is
+    // brought up to date and the block entity emptied before a build write, and loaded into the
+    // new block entity after a restore. A build write over a block entity the store cannot
+    // take back (placed or swapped after capture) is skipped; returns whether it wrote.
+    private boolean writeBlockEntity(Target target, BlockState current, BlockState state) {
+        BlockEntityStore store = target.blockEntities;
+        if (store != null && !target.restore && current.hasBlockEntity()) {
+            BlockEntity blockEntity = world.getBlockEntity(mutable);
+            if (blockEntity != null && !store.save(world, mutable, blockEntity)) {
+                return false;
+            }
+        }
+
+        world.setBlockState(mutable, state, FALLBACK_FLAGS);
+
+        if (store != null && target.restore && state.hasBlockEntity()) {
+            store.load(world, mutable, state);
+        }
+        return true;
+    }
+}
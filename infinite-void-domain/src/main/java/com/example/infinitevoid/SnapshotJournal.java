@@ -0,0 +1,469 @@
+// src/main/java/com/example/infinitevoid/SnapshotJournal.java
+package com.example.infinitevoid;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.CRC32;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.command.argument.BlockArgumentParser;
+import net.minecraft.registry.Registries;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.WorldSavePath;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.dimension.DimensionType;
+
+// Append-only, memory-mapped record of every domain's original blocks in one world. If the
+// server stops or crashes while a domain is up, the journal is replayed on the next start and
+// the terrain is put back. Records are staged on the tick thread, then appended and forced to
+// disk once per tick on a background thread.
+public class SnapshotJournal {
+    public static final int TABLE_SHELL = 0;
+    public static final int TABLE_DISK = 1;
+    public static final int TABLE_INTERIOR = 2;
+
+    private static final byte TYPE_BEGIN = 1;
+    private static final byte TYPE_PALETTE = 2;
+    private static final byte TYPE_CAPTURE = 3;
+    private static final byte TYPE_END = 4;
+    private static final byte TYPE_BLOCK_ENTITY = 5;
+
+    private static final int INITIAL_MAP_SIZE = 1 << 20;
+    private static final long COMPACT_THRESHOLD = 8L << 20;
+    private static final int RESTORE_FLAGS = Block.NOTIFY_LISTENERS | Block.FORCE_STATE;
+
+    // One writer thread for all journals keeps the appends of a world in order
+    private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "InfiniteVoid-Journal");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Path path;
+
+    // Tick thread state
+    private ByteBuffer staging = ByteBuffer.allocate(64 * 1024);
+    private final Map<Long, Reference2IntOpenHashMap<BlockState>> palettes = new HashMap<>();
+    private final Set<Long> live = new HashSet<>();
+    private boolean endedSinceFlush = false;
+    private long stagedMark = 0;
+
+    // Writer thread state
+    private FileChannel channel;
+    private MappedByteBuffer mapped;
+
+    private volatile long durableMark = 0;
+
+    public SnapshotJournal(ServerWorld world) {
+        this.path = pathFor(world);
+    }
+
+    private static Path pathFor(ServerWorld world) {
+        Path root = world.getServer().getSavePath(WorldSavePath.ROOT);
+        return DimensionType.getSaveDirectory(world.getRegistryKey(), root).resolve("data")
+                .resolve("infinitevoid_journal.bin");
+    }
+
+    public void begin(long domainId, BlockPos center, int radius) {
+        live.add(domainId);
+        palettes.put(domainId, new Reference2IntOpenHashMap<>());
+
+        int start = startRecord(TYPE_BEGIN, domainId, 16);
+        staging.putInt(center.getX()).putInt(center.getY()).putInt(center.getZ()).putInt(radius);
+        endRecord(start);
+    }
+
+    public void capture(long domainId, int table, int index, BlockState state) {
+        Reference2IntOpenHashMap<BlockState> palette = palettes.get(domainId);
+        if (palette == null) {
+            return;
+        }
+
+        int id;
+        if (palette.containsKey(state)) {
+            id = palette.getInt(state);
+        } else {
+            id = palette.size();
+            palette.put(state, id);
+
+            byte[] name =
+                    BlockArgumentParser.stringifyBlockState(state).getBytes(StandardCharsets.UTF_8);
+            int start = startRecord(TYPE_PALETTE, domainId, 6 + name.length);
+            staging.putInt(id).putShort((short) name.length).put(name);
+            endRecord(start);
+        }
+
+        int start = startRecord(TYPE_CAPTURE, domainId, 9);
+        staging.put((byte) table).putInt(index).putInt(id);
+        endRecord(start);
+    }
+
+    // Gzipped block entity NBT of a captured block; a later record for the same position wins
+    public void blockEntity(long domainId, long pos, byte[] compressed) {
+        if (!live.contains(domainId)) {
+            return;
+        }
+        int start = startRecord(TYPE_BLOCK_ENTITY, domainId, 12 + compressed.length);
+        staging.putLong(pos).putInt(compressed.length).put(compressed);
+        endRecord(start);
+    }
+
+    public void end(long domainId) {
+        if (!live.remove(domainId)) {
+            return;
+        }
+        palettes.remove(domainId);
+        endedSinceFlush = true;
+
+        int start = startRecord(TYPE_END, domainId, 0);
+        endRecord(start);
+    }
+
+    // Mark that a block edit depending on everything staged so far has to wait for
+    public long pendingMark() {
+        return staging.position() > 0 ? stagedMark + 1 : stagedMark;
+    }
+
+    public long durableMark() {
+        return durableMark;
+    }
+
+    // Hand this tick's records to the writer thread, which appends and forces them to disk
+    public void flush() {
+        if (staging.position() == 0) {
+            return;
+        }
+
+        staging.flip();
+        ByteBuffer records = ByteBuffer.allocate(staging.remaining()).put(staging).flip();
+        staging.clear();
+
+        long mark = ++stagedMark;
+        Set<Long> liveDomains = endedSinceFlush ? new HashSet<>(live) : null;
+        endedSinceFlush = false;
+
+        WRITER.execute(() -> {
+            try {
+                append(records);
+                if (liveDomains != null) {
+                    compact(liveDomains);
+                }
+                mapped.force();
+            } catch (IOException e) {
+                DomainExpansionMod.LOGGER.error("Failed to write domain journal {}", path, e);
+            }
+            // Even a failed write must not hold block edits back forever
+            durableMark = mark;
+        });
+    }
+
+    // Flush what is staged and wait for the writer, then release the file
+    public void close() {
+        flush();
+        try {
+            WRITER.submit(() -> {
+                try {
+                    if (mapped != null) {
+                        mapped.force();
+                    }
+                    if (channel != null) {
+                        channel.close();
+                    }
+                } catch (IOException e) {
+                    DomainExpansionMod.LOGGER.warn("Failed to close domain journal {}", path,
+                            e);
+                }
+                mapped = null;
+                channel = null;
+            }).get();
+        } catch (InterruptedException | ExecutionException e) {
+            DomainExpansionMod.LOGGER.warn("Interrupted while closing domain journal {}", path);
+        }
+    }
+
+    private int startRecord(byte type, long domainId, int payloadSize) {
+        // length + type + domain id + payload + crc
+        int size = 4 + 1 + 8 + payloadSize + 4;
+        if (staging.remaining() < size) {
+            int capacity = Math.max(staging.capacity() * 2, staging.position() + size);
+            staging = ByteBuffer.allocate(capacity).put(staging.flip());
+        }
+
+        int start = staging.position();
+        staging.putInt(0).put(type).putLong(domainId);
+        return start;
+    }
+
+    private void endRecord(int start) {
+        int length = staging.position() - start - 4;
+        staging.putInt(start, length);
+
+        CRC32 crc = new CRC32();
+        crc.update(staging.array(), start + 4, length);
+        staging.putInt((int) crc.getValue());
+    }
+
+    private void append(ByteBuffer records) throws IOException {
+        ensureOpen();
+        ensureCapacity(records.remaining() + 4);
+        mapped.put(records);
+        // Terminator so a replay never reads stale records past the tail
+        mapped.putInt(mapped.position(), 0);
+    }
+
+    private void ensureOpen() throws IOException {
+        if (channel != null) {
+            return;
+        }
+        Files.createDirectories(path.getParent());
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        long size = Math.max(channel.size(), INITIAL_MAP_SIZE);
+        mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+
+        // Continue after whatever valid records are already there
+        mapped.position(readRecords(mapped.duplicate().position(0), null));
+    }
+
+    private void ensureCapacity(int needed) throws IOException {
+        if (mapped.remaining() >= needed) {
+            return;
+        }
+        int position = mapped.position();
+        long size = Math.max((long) mapped.capacity() * 2, position + (long) needed);
+        mapped.force();
+        mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        mapped.position(position);
+    }
+
+    // Drop the records of finished domains: reset when nothing is live, rewrite when large
+    private void compact(Set<Long> liveDomains) throws IOException {
+        if (liveDomains.isEmpty()) {
+            mapped.position(0);
+            mapped.putInt(0, 0);
+            return;
+        }
+        if (mapped.position() < COMPACT_THRESHOLD) {
+            return;
+        }
+
+        ByteBuffer current = mapped.duplicate().position(0).limit(mapped.position());
+        ByteBuffer kept = ByteBuffer.allocate(current.remaining() + 4);
+        readRecords(current, (type, domainId, record) -> {
+            if (liveDomains.contains(domainId)) {
+                kept.put(record);
+            }
+        });
+        kept.putInt(0).flip();
+
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (kept.hasRemaining()) {
+                out.write(kept);
+            }
+            out.force(true);
+        }
+
+        mapped.force();
+        channel.close();
+        channel = null;
+        mapped = null;
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        ensureOpen();
+    }
+
+    private interface RecordVisitor {
+        // record covers the whole framed record; payload starts after type and domain id
+        void visit(byte type, long domainId, ByteBuffer record);
+    }
+
+    // Walk valid records from the buffer's position and return where the valid data ends
+    private static int readRecords(ByteBuffer data, RecordVisitor visitor) {
+        CRC32 crc = new CRC32();
+        while (data.remaining() >= 4) {
+            int start = data.position();
+            int length = data.getInt(start);
+            if (length < 9 || start + 4 + length + 4 > data.limit()) {
+                break;
+            }
+
+            crc.reset();
+            crc.update(data.duplicate().position(start + 4).limit(start + 4 + length));
+            if ((int) crc.getValue() != data.getInt(start + 4 + length)) {
+                break;
+            }
+
+            if (visitor != null) {
+                byte type = data.get(start + 4);
+                long domainId = data.getLong(start + 5);
+                visitor.visit(type, domainId,
+                        data.duplicate().position(start).limit(start + 4 + length + 4));
+            }
+            data.position(start + 4 + length + 4);
+        }
+        return data.position();
+    }
+
+    private static final class UnfinishedDomain {
+        BlockPos center;
+        int radius;
+        final Int2ObjectOpenHashMap<BlockState> palette = new Int2ObjectOpenHashMap<>();
+        // table << 62 | index << 32 | palette id
+        final LongArrayList captures = new LongArrayList();
+        // Packed position -> gzipped NBT, latest record wins
+        final Long2ObjectOpenHashMap<byte[]> blockEntities = new Long2ObjectOpenHashMap<>();
+    }
+
+    // Restore every domain that began but never ended, then clear the journal. Called once per
+    // world when the server has started, before any domain can be cast.
+    public static void recover(ServerWorld world) {
+        Path path = pathFor(world);
+        if (!Files.exists(path)) {
+            return;
+        }
+
+        Map<Long, UnfinishedDomain> domains = new LinkedHashMap<>();
+        try {
+            ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(path));
+            readRecords(data, (type, domainId, record) -> {
+                record.position(record.position() + 13);
+                if (type == TYPE_BEGIN) {
+                    UnfinishedDomain domain = new UnfinishedDomain();
+                    domain.center = new BlockPos(record.getInt(), record.getInt(), record.getInt());
+                    domain.radius = record.getInt();
+                    domains.put(domainId, domain);
+                    return;
+                }
+
+                UnfinishedDomain domain = domains.get(domainId);
+                if (domain == null) {
+                    return;
+                }
+                if (type == TYPE_END) {
+                    domains.remove(domainId);
+                } else if (type == TYPE_PALETTE) {
+                    int id = record.getInt();
+                    byte[] name = new byte[record.getShort() & 0xFFFF];
+                    record.get(name);
+                    BlockState state = parseState(new String(name, StandardCharsets.UTF_8));
+                    if (state != null) {
+                        domain.palette.put(id, state);
+                    }
+                } else if (type == TYPE_CAPTURE) {
+                    long table = record.get();
+                    long index = record.getInt();
+                    long id = record.getInt() & 0xFFFFFFFFL;
+                    domain.captures.add(table << 62 | index << 32 | id);
+                } else if (type == TYPE_BLOCK_ENTITY) {
+                    long pos = record.getLong();
+                    byte[] compressed = new byte[record.getInt()];
+                    record.get(compressed);
+                    domain.blockEntities.put(pos, compressed);
+                }
+            });
+        } catch (IOException e) {
+            DomainExpansionMod.LOGGER.error("Failed to read domain journal {}", path, e);
+            return;
+        }
+
+        for (UnfinishedDomain domain : domains.values()) {
+            restore(world, domain);
+        }
+
+        try {
+            Files.delete(path);
+        } catch (IOException e) {
+            DomainExpansionMod.LOGGER.warn("Failed to clear domain journal {}", path, e);
+        }
+    }
+
+    private static void restore(ServerWorld world, UnfinishedDomain domain) {
+        DomainGeometry geometry = DomainGeometry.forRadius(domain.radius);
+        int restored = 0;
+
+        // A block entity of the recorded type still standing means the world was saved before
+        // its block was overwritten, or after it was put back: its data is in place, and
+        // loading it again would roll back or duplicate its contents
+        LongOpenHashSet inPlace = new LongOpenHashSet();
+        for (Long2ObjectMap.Entry<byte[]> entry : domain.blockEntities.long2ObjectEntrySet()) {
+            BlockEntity blockEntity = world.getBlockEntity(BlockPos.fromLong(entry.getLongKey()));
+            if (blockEntity != null && BlockEntityStore.isType(blockEntity, entry.getValue())) {
+                inPlace.add(entry.getLongKey());
+            }
+        }
+
+        for (int i = 0; i < domain.captures.size(); i++) {
+            long capture = domain.captures.getLong(i);
+            int table = (int) (capture >>> 62);
+            int index = (int) (capture >>> 32) & 0x3FFFFFFF;
+            BlockState state = domain.palette.get((int) capture);
+            if (state == null) {
+                continue;
+            }
+
+            int offset = switch (table) {
+                case TABLE_SHELL -> geometry.shellOffset(index);
+                case TABLE_DISK -> geometry.diskOffset(index);
+                default -> geometry.interiorOffset(index);
+            };
+            BlockPos pos = domain.center.add(DomainGeometry.unpackX(offset),
+                    DomainGeometry.unpackY(offset), DomainGeometry.unpackZ(offset));
+            world.setBlockState(pos, state, RESTORE_FLAGS);
+            restored++;
+        }
+
+        // Block entity contents go back once every block is in place, only where the domain
+        // had overwritten them
+        for (Long2ObjectMap.Entry<byte[]> entry : domain.blockEntities.long2ObjectEntrySet()) {
+            if (inPlace.contains(entry.getLongKey())) {
+                continue;
+            }
+            BlockPos pos = BlockPos.fromLong(entry.getLongKey());
+            BlockEntity blockEntity = world.getBlockEntity(pos);
+            if (blockEntity != null
+                    && BlockEntityStore.apply(world, blockEntity, entry.getValue())) {
+                BlockState state = world.getBlockState(pos);
+                world.updateListeners(pos, state, state, Block.NOTIFY_LISTENERS);
+            }
+        }
+
+        DomainExpansionMod.LOGGER.info("Recovered unfinished domain at {}: restored {} blocks",
+                domain.center.toShortString(), restored);
+    }
+
+    private static BlockState parseState(String name) {
+        try {
+            return BlockArgumentParser.block(Registries.BLOCK.getReadOnlyWrapper(), name, false)
+                    .blockState();
+        } catch (CommandSyntaxException e) {
+            DomainExpansionMod.LOGGER.warn("Skipping unknown block state in domain journal: {}",
+                    name);
+            return null;
+        }
+    }
+}
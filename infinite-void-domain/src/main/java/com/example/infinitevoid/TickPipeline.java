@@ -0,0 +1,79 @@
+// src/main/java/com/example/infinitevoid/TickPipeline.java
+package com.example.infinitevoid;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Runs one tick of many domains in three phases. read() and apply() touch the world and run on
+// the ticking thread, one stage after another in list order; compute() only works on what its
+// stage read and runs for all stages at once on a fork-join pool. Results are applied in the
+// same order however the compute work was split, so a tick does the same edits on 1 or 16
+// threads.
+public class TickPipeline {
+    public interface Stage {
+        // Server thread: take every world and entity read the tick needs
+        void read();
+
+        // Any thread: turn the reads into edits and effect refreshes
+        void compute();
+
+        // Server thread: write the results to the world
+        void apply();
+    }
+
+    private static final AtomicInteger THREAD_ID = new AtomicInteger();
+
+    // Shared by every world; each run() keeps its own task list
+    private final ForkJoinPool pool;
+
+    // A parallelism of 1 computes every stage on the ticking thread
+    public TickPipeline(int parallelism) {
+        this.pool = parallelism > 1 ? new ForkJoinPool(parallelism, p -> {
+            ForkJoinWorkerThread thread =
+                    ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            thread.setName("InfiniteVoid-Tick-" + THREAD_ID.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false) : null;
+    }
+
+    public int parallelism() {
+        return pool != null ? pool.getParallelism() : 1;
+    }
+
+    public void run(List<? extends Stage> stages) {
+        for (Stage stage : stages) {
+            stage.read();
+        }
+
+        if (pool == null || stages.size() < 2) {
+            for (Stage stage : stages) {
+                stage.compute();
+            }
+        } else {
+            // The ticking thread takes the first stage instead of idling on the joins
+            List<ForkJoinTask<?>> tasks = new ArrayList<>(stages.size() - 1);
+            for (int i = 1; i < stages.size(); i++) {
+                tasks.add(pool.submit(stages.get(i)::compute));
+            }
+            stages.get(0).compute();
+            for (ForkJoinTask<?> task : tasks) {
+                task.join();
+            }
+        }
+
+        for (Stage stage : stages) {
+            stage.apply();
+        }
+    }
+
+    public void shutdown() {
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+}
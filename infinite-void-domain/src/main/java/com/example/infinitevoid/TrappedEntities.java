@@ -0,0 +1,215 @@
+// src/main/java/com/example/infinitevoid/TrappedEntities.java
+package com.example.infinitevoid;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.entity.effect.StatusEffect;
+import net.minecraft.entity.effect.StatusEffectInstance;
+import net.minecraft.entity.effect.StatusEffects;
+import net.minecraft.entity.mob.MobEntity;
+import net.minecraft.registry.entry.RegistryEntry;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.Vec3d;
+
+// Entities held by one domain, in parallel arrays indexed by trap order. Mobs are frozen by
+// setting their AI-disabled flag directly; the original flag is recorded once on entry and the
+// flag is only written again if something outside the domain cleared it. Stun effects are
+// applied with a long duration and refreshed shortly before they run out, so a trapped entity
+// costs no allocations or effect packets on most ticks. The per-tick pass is split like the
+// domain tick: read() samples the entities, plan() decides off-thread, apply() writes.
+public class TrappedEntities {
+    private static final int STUN_TICKS = 200;
+    // Refresh this many ticks before the stun would lapse
+    private static final int STUN_REFRESH_MARGIN = 20;
+
+    static final List<RegistryEntry<StatusEffect>> STUN_EFFECTS = List.of(
+            StatusEffects.SLOWNESS, StatusEffects.WEAKNESS, StatusEffects.MINING_FATIGUE,
+            StatusEffects.BLINDNESS);
+    private static final int[] STUN_AMPLIFIERS = {255, 255, 255, 0};
+
+    private UUID[] ids = new UUID[16];
+    private LivingEntity[] entities = new LivingEntity[16];
+    private double[] originX = new double[16], originY = new double[16], originZ = new double[16];
+    // Whether the AI of entry i was already disabled before it was trapped (mobs only)
+    private boolean[] aiWasDisabled = new boolean[16];
+    // Server tick at which the stun effects of entry i run out
+    private long[] stunUntil = new long[16];
+    // Per-tick scratch: whether entry i is loaded, which stun effects it lacks (bit k for
+    // STUN_EFFECTS[k]), whether it was pushed, and which effects apply() re-adds
+    private boolean[] loaded = new boolean[16];
+    private byte[] missing = new byte[16];
+    private boolean[] pushed = new boolean[16];
+    private byte[] refresh = new byte[16];
+    private int size = 0;
+    private final Object2IntOpenHashMap<UUID> index = new Object2IntOpenHashMap<>();
+
+    public TrappedEntities() {
+        index.defaultReturnValue(-1);
+    }
+
+    // Record the entity's position and AI flag, then freeze it. Returns the entry index.
+    public int add(LivingEntity entity) {
+        int existing = index.getInt(entity.getUuid());
+        if (existing >= 0) {
+            return existing;
+        }
+        int i = add(entity.getUuid(), entity.getX(), entity.getY(), entity.getZ());
+        entities[i] = entity;
+        if (entity instanceof MobEntity mob) {
+            aiWasDisabled[i] = mob.isAiDisabled();
+            mob.setAiDisabled(true);
+        }
+        return i;
+    }
+
+    // A new entry with no live entity cached yet
+    int add(UUID id, double x, double y, double z) {
+        if (size == ids.length) {
+            int capacity = size * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            entities = Arrays.copyOf(entities, capacity);
+            originX = Arrays.copyOf(originX, capacity);
+            originY = Arrays.copyOf(originY, capacity);
+            originZ = Arrays.copyOf(originZ, capacity);
+            aiWasDisabled = Arrays.copyOf(aiWasDisabled, capacity);
+            stunUntil = Arrays.copyOf(stunUntil, capacity);
+            loaded = Arrays.copyOf(loaded, capacity);
+            missing = Arrays.copyOf(missing, capacity);
+            pushed = Arrays.copyOf(pushed, capacity);
+            refresh = Arrays.copyOf(refresh, capacity);
+        }
+
+        int i = size++;
+        ids[i] = id;
+        entities[i] = null;
+        originX[i] = x;
+        originY[i] = y;
+        originZ[i] = z;
+        aiWasDisabled[i] = false;
+        stunUntil[i] = 0; // Stun is applied on the first call to stun()
+        index.put(ids[i], i);
+        return i;
+    }
+
+    public boolean contains(UUID id) {
+        return index.containsKey(id);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // The live entity for entry i, or null if it is not loaded. The reference is cached and
+    // only looked up again after the entity was removed (died, unloaded or changed dimension).
+    public LivingEntity get(ServerWorld world, int i) {
+        LivingEntity entity = entities[i];
+        if (entity == null || entity.isRemoved()) {
+            Entity found = world.getEntity(ids[i]);
+            entity = found instanceof LivingEntity living ? living : null;
+            entities[i] = entity;
+        }
+        return entity;
+    }
+
+    // Put the AI-disabled flag back if something cleared it
+    public void keepFrozen(LivingEntity entity) {
+        if (entity instanceof MobEntity mob && !mob.isAiDisabled()) {
+            mob.setAiDisabled(true);
+        }
+    }
+
+    // (Re)apply the stun effects of entry i if they are about to lapse, or put back any single
+    // effect that was removed early (milk, commands)
+    public void stun(LivingEntity entity, int i, long tick) {
+        boolean expiring = tick >= stunUntil[i] - STUN_REFRESH_MARGIN;
+        for (int k = 0; k < STUN_EFFECTS.size(); k++) {
+            RegistryEntry<StatusEffect> effect = STUN_EFFECTS.get(k);
+            if (expiring || !entity.hasStatusEffect(effect)) {
+                entity.addStatusEffect(new StatusEffectInstance(effect, STUN_TICKS,
+                        STUN_AMPLIFIERS[k], false, false));
+            }
+        }
+        if (expiring) {
+            stunUntil[i] = tick + STUN_TICKS;
+        }
+    }
+
+    // Sample every trapped entity for this tick's stun pass
+    public void read(ServerWorld world) {
+        for (int i = 0; i < size; i++) {
+            LivingEntity e = get(world, i);
+            if (e == null) {
+                loaded[i] = false;
+                continue;
+            }
+            int bits = 0;
+            for (int k = 0; k < STUN_EFFECTS.size(); k++) {
+                if (!e.hasStatusEffect(STUN_EFFECTS.get(k))) {
+                    bits |= 1 << k;
+                }
+            }
+            sample(i, bits, e.getVelocity());
+        }
+    }
+
+    // Record what read() found on the loaded entity of entry i: the stun effects it lacks (bit
+    // k for STUN_EFFECTS[k]) and its velocity
+    void sample(int i, int missingEffects, Vec3d velocity) {
+        loaded[i] = true;
+        missing[i] = (byte) missingEffects;
+        // Only stop (and resync) entities that were actually pushed; settling onto the platform
+        // under gravity is fine
+        pushed[i] = velocity.horizontalLengthSquared() > 1.0E-7 || velocity.y > 0;
+    }
+
+    // Decide which effects to re-add: all of them when the stun is about to lapse, otherwise
+    // only the ones removed early. Touches no entity, so it may run on any thread.
+    public void plan(long tick) {
+        for (int i = 0; i < size; i++) {
+            if (!loaded[i]) {
+                refresh[i] = 0;
+            } else if (tick >= stunUntil[i] - STUN_REFRESH_MARGIN) {
+                refresh[i] = (byte) ((1 << STUN_EFFECTS.size()) - 1);
+                stunUntil[i] = tick + STUN_TICKS;
+            } else {
+                refresh[i] = missing[i];
+            }
+        }
+    }
+
+    // Write what plan() decided: effects, velocity resync and the AI flag
+    public void apply() {
+        for (int i = 0; i < size; i++) {
+            LivingEntity e = entities[i];
+            if (!loaded[i] || e == null) {
+                continue;
+            }
+            for (int k = 0; k < STUN_EFFECTS.size(); k++) {
+                if ((refresh[i] & 1 << k) != 0) {
+                    e.addStatusEffect(new StatusEffectInstance(STUN_EFFECTS.get(k), STUN_TICKS,
+                            STUN_AMPLIFIERS[k], false, false));
+                }
+            }
+            if (pushed[i]) {
+                e.setVelocity(0, 0, 0);
+                e.velocityModified = true;
+            }
+            keepFrozen(e);
+        }
+    }
+
+    // Give entry i its original AI flag and position back and lift the stun
+    public void release(LivingEntity entity, int i) {
+        for (RegistryEntry<StatusEffect> effect : STUN_EFFECTS) {
+            entity.removeStatusEffect(effect);
+        }
+        if (entity instanceof MobEntity mob) {
+            mob.setAiDisabled(aiWasDisabled[i]);
+        }
+        entity.setPosition(originX[i], originY[i], originZ[i]);
+    }
+}
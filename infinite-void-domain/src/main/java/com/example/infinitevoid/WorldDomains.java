@@ -0,0 +1,124 @@
+// src/main/java/com/example/infinitevoid/WorldDomains.java
+package com.example.infinitevoid;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import net.minecraft.entity.Entity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+
+// Everything the mod keeps for one world: its domains in cast order, their spatial index, the
+// snapshot journal and the block edit scheduler. A bucket is only touched from its own world's
+// tick, so worlds never share mutable state and can be ticked concurrently.
+public class WorldDomains {
+    private final ServerWorld world;
+    private final Map<UUID, Domain> domains = new LinkedHashMap<>();
+    private final DomainIndex<Domain> index = new DomainIndex<>();
+    // Domains ticking this tick, reused between ticks
+    private final List<Domain> ticking = new ArrayList<>();
+    // Entities rejected on load; discarding them inside the load callback is not safe
+    private final List<Entity> pendingDiscards = new ArrayList<>();
+    private SnapshotJournal journal;
+    private BlockEditScheduler scheduler;
+
+    public WorldDomains(ServerWorld world) {
+        this.world = world;
+    }
+
+    public SnapshotJournal journal() {
+        if (journal == null) {
+            journal = new SnapshotJournal(world);
+        }
+        return journal;
+    }
+
+    public BlockEditScheduler scheduler() {
+        if (scheduler == null) {
+            scheduler = new BlockEditScheduler(world, journal());
+        }
+        return scheduler;
+    }
+
+    public DomainIndex<Domain> index() {
+        return index;
+    }
+
+    public void add(Domain domain) {
+        domains.put(domain.getCaster().getUuid(), domain);
+        index.add(domain, domain.getCenter(), domain.getRadius());
+    }
+
+    public void reject(Entity entity) {
+        pendingDiscards.add(entity);
+    }
+
+    // Run one tick of this world's domains through the pipeline. Domains whose center chunk
+    // is not ticking sleep: their phase clock stands still until the chunk ticks again, and an
+    // active domain asleep past domain.sleepTimeoutTicks starts to break. Breaking and
+    // restoring domains never sleep, or a domain left alone would hold its tickets forever.
+    // Finished domains are unlinked here and from the manager's caster registry.
+    public void tick(TickPipeline pipeline, Map<UUID, Domain> casters) {
+        for (Entity entity : pendingDiscards) {
+            if (!entity.isRemoved()) {
+                entity.discard();
+            }
+        }
+        pendingDiscards.clear();
+
+        for (Domain d : domains.values()) {
+            BlockPos center = d.getCenter();
+            if (d.isWindingDown() || world.shouldTickBlocksInChunk(
+                    ChunkPos.toLong(center.getX() >> 4, center.getZ() >> 4))) {
+                ticking.add(d);
+            } else {
+                d.sleep();
+            }
+        }
+        pipeline.run(ticking);
+        ticking.clear();
+
+        DomainMetrics metrics = DomainManager.get().getMetrics();
+
+        // Snapshots captured this tick go to disk before the edits that overwrite them
+        if (journal != null) {
+            long start = System.nanoTime();
+            journal.flush();
+            metrics.record(DomainMetrics.Timer.JOURNAL, System.nanoTime() - start);
+        }
+
+        // Drain queued block edits under the per-tick budget. The scheduler is kept for the
+        // world's lifetime: domains ask it for their pending edits every tick.
+        if (scheduler != null && !scheduler.isIdle()) {
+            long start = System.nanoTime();
+            scheduler.tick();
+            metrics.record(DomainMetrics.Timer.EDITS, System.nanoTime() - start);
+        }
+
+        Iterator<Domain> it = domains.values().iterator();
+        while (it.hasNext()) {
+            Domain d = it.next();
+            if (d.isFinished()) {
+                it.remove();
+                index.remove(d, d.getCenter(), d.getRadius());
+                casters.remove(d.getCaster().getUuid(), d);
+
+                DomainExpansionMod.LOGGER.debug("Removed finished domain for player: {}",
+                        d.getCaster().getName().getString());
+            }
+        }
+    }
+
+    public void close() {
+        if (journal != null) {
+            journal.close();
+        }
+        domains.clear();
+        pendingDiscards.clear();
+        scheduler = null;
+    }
+}
@@ -0,0 +1,170 @@
+// src/main/java/com/example/infinitevoid/client/ClientDomainEffects.java
+package com.example.infinitevoid.client;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import com.example.infinitevoid.DomainParticles;
+import com.example.infinitevoid.network.DomainPayloads;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.world.ClientWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.util.math.random.Random;
+
+public class ClientDomainEffects {
+    private static final DomainParticles.Effect[] EFFECTS = DomainParticles.Effect.values();
+    // Particles further than this behind the view plane (as the cosine to the look direction)
+    // are not drawn; the margin keeps the edges of a wide field of view filled
+    private static final double VIEW_COS_MIN = -0.2;
+
+    // An active domain this client draws by itself, from the activation payload alone
+    private static final class Visual {
+        final DomainParticles particles;
+        final BlockPos center;
+        final int radius;
+        final long startTick;
+        final DomainPayloads.EffectSettings settings;
+        double distanceSq; // To the player, refreshed every tick
+
+        Visual(DomainPayloads.DomainActivatedPayload payload) {
+            this.particles = new DomainParticles(payload.center(), payload.platformY(),
+                    payload.radius(), payload.seed());
+            this.center = payload.center();
+            this.radius = payload.radius();
+            this.startTick = payload.startTick();
+            this.settings = payload.settings();
+        }
+    }
+
+    // Domains by caster, for the world they were received in
+    private static final Map<UUID, Visual> visuals = new LinkedHashMap<>();
+    private static ClientWorld visualsWorld;
+    private static final List<Visual> inRange = new ArrayList<>();
+    // Particles this client may still draw this tick, shared by every domain
+    private static int budget;
+    // The LOD settings of the server this client is on, from its latest effect payload
+    private static DomainPayloads.EffectSettings settings;
+
+    public static void onDomainActivated(DomainPayloads.DomainActivatedPayload payload) {
+        ClientWorld world = MinecraftClient.getInstance().world;
+        if (world != visualsWorld) {
+            visuals.clear();
+            visualsWorld = world;
+        }
+        receive(payload.settings());
+        visuals.put(payload.caster(), new Visual(payload));
+    }
+
+    public static void onDomainCollapse(DomainPayloads.DomainCollapsePayload payload) {
+        visuals.remove(payload.caster());
+    }
+
+    // Draw the Unlimited Void of every domain in range. The effect tick is the world time since
+    // activation, which the server keeps in sync, so every viewer sees the same moon and stars.
+    public static void tick() {
+        MinecraftClient mc = MinecraftClient.getInstance();
+        ClientWorld world = mc.world;
+        budget = settings != null ? settings.particleBudget() : 0;
+        if (world != visualsWorld) {
+            // Changed dimension or left the server: those domains are gone for this client, and
+            // the next server may be configured differently
+            visuals.clear();
+            visualsWorld = world;
+            settings = null;
+        }
+        if (world == null || mc.player == null || mc.isPaused() || visuals.isEmpty()) {
+            return;
+        }
+
+        for (Visual visual : visuals.values()) {
+            visual.distanceSq = mc.player.squaredDistanceTo(Vec3d.ofCenter(visual.center));
+            if (density(visual.distanceSq, visual.radius, visual.settings) > 0) {
+                inRange.add(visual);
+            }
+        }
+        // Nearest domains first, so the budget goes to what the player is closest to
+        inRange.sort(Comparator.comparingDouble(v -> v.distanceSq));
+        for (Visual visual : inRange) {
+            spawn(mc, visual.particles.plan(DomainParticles.Effect.VOID_SPACE,
+                    world.getTime() - visual.startTick),
+                    density(visual.distanceSq, visual.radius, visual.settings));
+        }
+        inRange.clear();
+    }
+
+    // Level of detail, as the server configured it: every particle inside the barrier, a share
+    // of them up to lodRange blocks outside it, none beyond
+    private static double density(double distanceSq, int radius,
+            DomainPayloads.EffectSettings lod) {
+        if (distanceSq <= (double) radius * radius) {
+            return 1;
+        }
+        double range = radius + lod.lodRange();
+        return distanceSq <= range * range ? lod.reducedPercent() / 100.0 : 0;
+    }
+
+    // The first payload from a server also sets the budget of the tick it arrives in
+    private static void receive(DomainPayloads.EffectSettings received) {
+        if (settings == null) {
+            budget = received.particleBudget();
+        }
+        settings = received;
+    }
+
+    // Expand one tick of a domain's particles locally. Each particle gets the same spread a
+    // vanilla single-particle packet would: a gaussian offset scaled by the kind's delta and
+    // a gaussian velocity scaled by its speed.
+    // Payloads arrive between client ticks and draw from what is left of the last tick's budget.
+    public static void onParticles(DomainPayloads.DomainParticlesPayload payload) {
+        MinecraftClient mc = MinecraftClient.getInstance();
+        if (mc.world == null || mc.player == null || payload.effect() < 0
+                || payload.effect() >= EFFECTS.length) {
+            return;
+        }
+
+        receive(payload.settings());
+        double density = density(mc.player.squaredDistanceTo(Vec3d.ofCenter(payload.center())),
+                payload.radius(), payload.settings());
+        if (density > 0) {
+            spawn(mc, new DomainParticles(payload.center(), payload.platformY(),
+                    payload.radius(), payload.seed()).plan(EFFECTS[payload.effect()],
+                            payload.tick()), density);
+        }
+    }
+
+    // Draw every 1/density-th particle of the batch that is in front of the camera, until the
+    // tick's budget runs out
+    private static void spawn(MinecraftClient mc, DomainParticles.ParticleBatch batch,
+            double density) {
+        ClientWorld world = mc.world;
+        Random random = world.getRandom();
+        Vec3d eye = mc.player.getEyePos();
+        Vec3d look = mc.player.getRotationVec(1.0F);
+        double share = 0;
+        for (int i = 0; i < batch.size() && budget > 0; i++) {
+            share += density;
+            if (share < 1) {
+                continue;
+            }
+            share -= 1;
+
+            double dx = batch.x(i) - eye.x, dy = batch.y(i) - eye.y, dz = batch.z(i) - eye.z;
+            double dot = dx * look.x + dy * look.y + dz * look.z;
+            if (dot < VIEW_COS_MIN * Math.sqrt(dx * dx + dy * dy + dz * dz)) {
+                continue;
+            }
+
+            budget--;
+            DomainParticles.Kind kind = batch.kind(i);
+            world.addParticle(kind.type, batch.x(i) + random.nextGaussian() * kind.deltaX,
+                    batch.y(i) + random.nextGaussian() * kind.deltaY,
+                    batch.z(i) + random.nextGaussian() * kind.deltaZ,
+                    random.nextGaussian() * kind.speed, random.nextGaussian() * kind.speed,
+                    random.nextGaussian() * kind.speed);
+        }
+    }
+}
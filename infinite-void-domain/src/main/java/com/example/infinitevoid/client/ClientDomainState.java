@@ -7,11 +7,16 @@ import net.minecraft.client.MinecraftClient;
 import net.minecraft.text.Text;
 
 public class ClientDomainState {
+    // Client ticks drive every timer below, so the overlays follow the game rather than the
+    // wall clock. Starts at 1 because 0 marks an unset timestamp.
+    private static long clientTicks = 1;
+
     private static boolean active = false;
     private static long castStart = 0;
     private static long activationStart = 0;
-    private static final long CAST_TIME = 3_000;
-    private static final long ACTIVATION_DISPLAY_TIME = 5_000;
+    private static final long CAST_TICKS = 60;
+    private static final long ACTIVATION_DISPLAY_TICKS = 100;
+    private static final long HOLD_TICKS = 60;
 
     // Hold duration tracking
     private static long holdStartTime = 0;
@@ -20,13 +25,13 @@ public class ClientDomainState {
     private static boolean waitingForCooldownResponse = false;
 
     public static void onStartCast() {
-        castStart = System.currentTimeMillis();
+        castStart = clientTicks;
         active = false;
         activationStart = 0;
     }
 
     public static void onDomainActivated() {
-        activationStart = System.currentTimeMillis();
+        activationStart = clientTicks;
         active = true;
         // Clear holding state when domain activates
         isHolding = false;
@@ -42,7 +47,7 @@ public class ClientDomainState {
         if (!isHolding && !waitingForCooldownResponse) {
             // If domain is already active, skip cooldown check and start holding immediately
             if (active) {
-                holdStartTime = System.currentTimeMillis();
+                holdStartTime = clientTicks;
                 isHolding = true;
             } else {
                 // Check cooldown for new domain cast
@@ -56,7 +61,7 @@ public class ClientDomainState {
     public static void startActualHolding() {
         waitingForCooldownResponse = false;
         if (!isHolding) {
-            holdStartTime = System.currentTimeMillis();
+            holdStartTime = clientTicks;
             isHolding = true;
         }
     }
@@ -73,27 +78,27 @@ public class ClientDomainState {
     public static int getHoldDuration() {
         if (!isHolding || holdStartTime == 0)
             return 0;
-        return (int) ((System.currentTimeMillis() - holdStartTime) / 1000);
+        return (int) ((clientTicks - holdStartTime) / 20);
     }
 
     // Check if held for full 3 seconds
     public static boolean isFullyHeld() {
-        return isHolding && (System.currentTimeMillis() - holdStartTime) >= 3000;
+        return isHolding && (clientTicks - holdStartTime) >= HOLD_TICKS;
     }
 
     public static void tick() {
         MinecraftClient mc = MinecraftClient.getInstance();
-        long now = System.currentTimeMillis();
+        long now = ++clientTicks;
 
         // Handle holding progress display
         if (isHolding && holdStartTime > 0) {
             long holdTime = now - holdStartTime;
 
-            if (holdTime < 1000) {
+            if (holdTime < 20) {
                 currentLoadingText = "§e0§bDomain Expansion§e0";
-            } else if (holdTime < 2000) {
+            } else if (holdTime < 40) {
                 currentLoadingText = "§6O§e0§bDomain Expansion§e0§6O";
-            } else if (holdTime < 3000) {
+            } else if (holdTime < HOLD_TICKS) {
                 currentLoadingText = "§co§6O§e0§bDomain Expansion§e0§6O§co";
             } else {
                 currentLoadingText = "§a✓ Activating Domain ✓";
@@ -103,11 +108,11 @@ public class ClientDomainState {
         }
 
         // Show casting message
-        if (castStart > 0 && now < castStart + CAST_TIME) {
+        if (castStart > 0 && now < castStart + CAST_TICKS) {
             mc.inGameHud.setOverlayMessage(Text.literal("§dCasting Domain Expansion..."), false);
         }
         // Show big activation message
-        else if (activationStart > 0 && now < activationStart + ACTIVATION_DISPLAY_TIME) {
+        else if (activationStart > 0 && now < activationStart + ACTIVATION_DISPLAY_TICKS) {
             Text overlayText = Text.literal("")
                     .append(Text.literal("Domain Expansion: ")
                             .styled(style -> style.withColor(0x87CEEB)))
@@ -118,11 +123,11 @@ public class ClientDomainState {
         }
         // Clear casting state after display time
         else if (castStart > 0 && activationStart > 0
-                && now >= activationStart + ACTIVATION_DISPLAY_TIME) {
+                && now >= activationStart + ACTIVATION_DISPLAY_TICKS) {
             castStart = 0;
         }
         // Clear just casting state
-        else if (castStart > 0 && now >= castStart + CAST_TIME && activationStart == 0) {
+        else if (castStart > 0 && now >= castStart + CAST_TICKS && activationStart == 0) {
             castStart = 0;
         }
     }
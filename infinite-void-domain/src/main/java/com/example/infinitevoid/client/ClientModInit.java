@@ -16,6 +16,7 @@ public class ClientModInit implements ClientModInitializer {
         ClientTickEvents.END_CLIENT_TICK.register(t -> {
             ClientKeybinds.tick();
             ClientDomainState.tick();
+            ClientDomainEffects.tick();
         });
     }
 }
\ No newline at end of file
@@ -1,10 +1,12 @@
 // src/main/java/com/example/infinitevoid/network/DomainPayloads.java
 package com.example.infinitevoid.network;
 
+import java.util.UUID;
 import net.minecraft.network.PacketByteBuf;
 import net.minecraft.network.codec.PacketCodec;
 import net.minecraft.network.packet.CustomPayload;
 import net.minecraft.util.Identifier;
+import net.minecraft.util.math.BlockPos;
 
 public class DomainPayloads {
     
@@ -44,11 +46,58 @@ public class DomainPayloads {
         }
     }
 
-    public record DomainActivatedPayload() implements CustomPayload {
+    // The server's effect LOD, carried by every effect payload so clients draw what the server
+    // is configured for: full density inside the barrier, reducedPercent of it up to lodRange
+    // blocks outside, and at most particleBudget particles per client tick
+    public record EffectSettings(int lodRange, int reducedPercent, int particleBudget) {
+        private static EffectSettings read(PacketByteBuf buf) {
+            return new EffectSettings(buf.readVarInt(), buf.readVarInt(), buf.readVarInt());
+        }
+
+        private void write(PacketByteBuf buf) {
+            buf.writeVarInt(lodRange);
+            buf.writeVarInt(reducedPercent);
+            buf.writeVarInt(particleBudget);
+        }
+    }
+
+    // Everything a client needs to draw a domain's Unlimited Void by itself: sent once on
+    // activation to every player in range, and to players who come into range later
+    public record DomainActivatedPayload(UUID caster, BlockPos center, int radius, int platformY,
+            long startTick, long seed, EffectSettings settings) implements CustomPayload {
         public static final CustomPayload.Id<DomainActivatedPayload> ID = 
             new CustomPayload.Id<>(Identifier.of("infinitevoid", "domain_activated"));
         public static final PacketCodec<PacketByteBuf, DomainActivatedPayload> CODEC = 
-            PacketCodec.unit(new DomainActivatedPayload());
+            PacketCodec.of(DomainActivatedPayload::write, DomainActivatedPayload::new);
+
+        private DomainActivatedPayload(PacketByteBuf buf) {
+            this(buf.readUuid(), buf.readBlockPos(), buf.readVarInt(), buf.readVarInt(),
+                    buf.readLong(), buf.readLong(), EffectSettings.read(buf));
+        }
+
+        private void write(PacketByteBuf buf) {
+            buf.writeUuid(caster);
+            buf.writeBlockPos(center);
+            buf.writeVarInt(radius);
+            buf.writeVarInt(platformY);
+            buf.writeLong(startTick);
+            buf.writeLong(seed);
+            settings.write(buf);
+        }
+
+        @Override
+        public CustomPayload.Id<? extends CustomPayload> getId() {
+            return ID;
+        }
+    }
+
+    // The domain's barrier started to break; clients stop drawing its Unlimited Void
+    public record DomainCollapsePayload(UUID caster) implements CustomPayload {
+        public static final CustomPayload.Id<DomainCollapsePayload> ID = 
+            new CustomPayload.Id<>(Identifier.of("infinitevoid", "domain_collapse"));
+        public static final PacketCodec<PacketByteBuf, DomainCollapsePayload> CODEC = 
+            PacketCodec.of((payload, buf) -> buf.writeUuid(payload.caster()),
+                    buf -> new DomainCollapsePayload(buf.readUuid()));
 
         @Override
         public CustomPayload.Id<? extends CustomPayload> getId() {
@@ -91,4 +140,34 @@ public class DomainPayloads {
             return ID;
         }
     }
+
+    // One tick of a domain's particle effect, as the parameters the client expands with
+    // DomainParticles instead of one vanilla particle packet per particle
+    public record DomainParticlesPayload(int effect, long tick, BlockPos center, int platformY,
+            int radius, long seed, EffectSettings settings) implements CustomPayload {
+        public static final CustomPayload.Id<DomainParticlesPayload> ID = 
+            new CustomPayload.Id<>(Identifier.of("infinitevoid", "domain_particles"));
+        public static final PacketCodec<PacketByteBuf, DomainParticlesPayload> CODEC = 
+            PacketCodec.of(DomainParticlesPayload::write, DomainParticlesPayload::new);
+
+        private DomainParticlesPayload(PacketByteBuf buf) {
+            this(buf.readByte(), buf.readVarLong(), buf.readBlockPos(), buf.readVarInt(),
+                    buf.readVarInt(), buf.readLong(), EffectSettings.read(buf));
+        }
+
+        private void write(PacketByteBuf buf) {
+            buf.writeByte(effect);
+            buf.writeVarLong(tick);
+            buf.writeBlockPos(center);
+            buf.writeVarInt(platformY);
+            buf.writeVarInt(radius);
+            buf.writeLong(seed);
+            settings.write(buf);
+        }
+
+        @Override
+        public CustomPayload.Id<? extends CustomPayload> getId() {
+            return ID;
+        }
+    }
 }
\ No newline at end of file
@@ -34,13 +34,18 @@ public class NetworkHandler {
         });
     }
 
-    public static void registerS2CPackets() {
-        // Register payload types
+    // S2C payload types are needed on both sides: the server encodes them, the client decodes
+    // them. Called from the common initializer, so a dedicated server knows them too.
+    public static void registerS2CPayloadTypes() {
         PayloadTypeRegistry.playS2C().register(DomainPayloads.StartCastPayload.ID, DomainPayloads.StartCastPayload.CODEC);
         PayloadTypeRegistry.playS2C().register(DomainPayloads.DomainActivatedPayload.ID, DomainPayloads.DomainActivatedPayload.CODEC);
+        PayloadTypeRegistry.playS2C().register(DomainPayloads.DomainCollapsePayload.ID, DomainPayloads.DomainCollapsePayload.CODEC);
         PayloadTypeRegistry.playS2C().register(DomainPayloads.DomainDeactivatedPayload.ID, DomainPayloads.DomainDeactivatedPayload.CODEC);
         PayloadTypeRegistry.playS2C().register(DomainPayloads.CooldownOkPayload.ID, DomainPayloads.CooldownOkPayload.CODEC);
+        PayloadTypeRegistry.playS2C().register(DomainPayloads.DomainParticlesPayload.ID, DomainPayloads.DomainParticlesPayload.CODEC);
+    }
 
+    public static void registerS2CPackets() {
         // Register handlers
         ClientPlayNetworking.registerGlobalReceiver(DomainPayloads.StartCastPayload.ID, (payload, context) -> {
             context.client().execute(() -> {
@@ -50,7 +55,18 @@ public class NetworkHandler {
 
         ClientPlayNetworking.registerGlobalReceiver(DomainPayloads.DomainActivatedPayload.ID, (payload, context) -> {
             context.client().execute(() -> {
-                com.example.infinitevoid.client.ClientDomainState.onDomainActivated();
+                // Every player in range draws the domain; only its caster gets the overlay
+                if (context.client().player != null
+                        && payload.caster().equals(context.client().player.getUuid())) {
+                    com.example.infinitevoid.client.ClientDomainState.onDomainActivated();
+                }
+                com.example.infinitevoid.client.ClientDomainEffects.onDomainActivated(payload);
+            });
+        });
+
+        ClientPlayNetworking.registerGlobalReceiver(DomainPayloads.DomainCollapsePayload.ID, (payload, context) -> {
+            context.client().execute(() -> {
+                com.example.infinitevoid.client.ClientDomainEffects.onDomainCollapse(payload);
             });
         });
 
@@ -65,5 +81,11 @@ public class NetworkHandler {
                 com.example.infinitevoid.client.ClientDomainState.startActualHolding();
             });
         });
+
+        ClientPlayNetworking.registerGlobalReceiver(DomainPayloads.DomainParticlesPayload.ID, (payload, context) -> {
+            context.client().execute(() -> {
+                com.example.infinitevoid.client.ClientDomainEffects.onParticles(payload);
+            });
+        });
     }
 }
\ No newline at end of file
@@ -0,0 +1,5 @@
+// src/main/java/com/example/infinitevoid/package-info.java
+// The mod's server and client code. The JMH benchmarks in src/jmh share this package and run
+// the real code on stand-in worlds, sections and entities; the few members they call that would
+// otherwise be private are package-private for that reason, and nothing else relies on them.
+package com.example.infinitevoid;